@@ -0,0 +1,100 @@
+package as.space.feed;
+
+import as.space.model.MissionStatus;
+import as.space.model.RocketStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded ring of fleet changes with preallocated slots. Producers claim a sequence, fill the slot and publish it, so
+// publishing never allocates and never waits for consumers. A consumer that falls more than the capacity behind
+// loses the overwritten changes and is told how many it missed.
+//
+// Each slot is a seqlock: its published sequence is set to WRITING while the slot is filled, and readers check that
+// the sequence did not change while they copied the fields.
+public class ChangeFeed {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    static final long EMPTY = -1;
+    static final long WRITING = -2;
+    static final int ROCKET_ASSIGNED = 0;
+    static final int ROCKET_STATUS_CHANGED = 1;
+    static final int MISSION_STATUS_CHANGED = 2;
+    static final int MISSION_FINISHED = 3;
+
+    final int capacity;
+    final int mask;
+    final Slot[] slots;
+    final AtomicLongArray published;
+    final AtomicLong claimed = new AtomicLong();
+
+    public ChangeFeed() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // capacity is rounded up to a power of two
+    public ChangeFeed(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        mask = this.capacity - 1;
+        slots = new Slot[this.capacity];
+        published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, EMPTY);
+        }
+    }
+
+    // receives changes published after this call
+    public ChangeSubscription subscribe() {
+        return new ChangeSubscription(this, claimed.get());
+    }
+
+    public void rocketAssigned(String rocket, String mission, RocketStatus fromStatus, RocketStatus toStatus) {
+        publish(ROCKET_ASSIGNED, rocket, mission, fromStatus.ordinal(), toStatus.ordinal(), 0);
+    }
+
+    public void rocketStatusChanged(String rocket, String mission, RocketStatus fromStatus, RocketStatus toStatus) {
+        publish(ROCKET_STATUS_CHANGED, rocket, mission, fromStatus.ordinal(), toStatus.ordinal(), 0);
+    }
+
+    public void missionStatusChanged(String mission, MissionStatus fromStatus, MissionStatus toStatus) {
+        publish(MISSION_STATUS_CHANGED, null, mission, fromStatus.ordinal(), toStatus.ordinal(), 0);
+    }
+
+    public void missionFinished(String mission, MissionStatus fromStatus, int releasedRockets) {
+        publish(MISSION_FINISHED, null, mission, fromStatus.ordinal(), MissionStatus.ENDED.ordinal(), releasedRockets);
+    }
+
+    private void publish(int type, String rocket, String mission, int fromStatus, int toStatus, int count) {
+        long sequence = claimed.getAndIncrement();
+        int index = (int) sequence & mask;
+        while (true) {
+            long current = published.get(index);
+            if (current > sequence) {
+                // a producer a full lap ahead already reused the slot, so this change counts as overwritten
+                return;
+            }
+            if (current != WRITING && published.compareAndSet(index, current, WRITING)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        Slot slot = slots[index];
+        slot.type = type;
+        slot.rocket = rocket;
+        slot.mission = mission;
+        slot.fromStatus = fromStatus;
+        slot.toStatus = toStatus;
+        slot.count = count;
+        published.set(index, sequence);
+    }
+
+    static final class Slot {
+        int type;
+        String rocket;
+        String mission;
+        int fromStatus;
+        int toStatus;
+        int count;
+    }
+}
@@ -0,0 +1,79 @@
+package as.space.feed;
+
+import as.space.model.MissionStatus;
+import as.space.model.RocketStatus;
+
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+// Independent read position in a ChangeFeed. A subscription is meant to be polled by a single consumer thread.
+public class ChangeSubscription {
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+    private final ChangeFeed feed;
+    private long next;
+    private long missed;
+
+    ChangeSubscription(ChangeFeed feed, long next) {
+        this.feed = feed;
+        this.next = next;
+    }
+
+    // delivers the published changes in sequence order and returns how many were delivered
+    public int poll(Consumer<FleetChange> consumer) {
+        return poll(consumer, Integer.MAX_VALUE);
+    }
+
+    public int poll(Consumer<FleetChange> consumer, int maxChanges) {
+        int delivered = 0;
+        while (delivered < maxChanges && next < feed.claimed.get()) {
+            int index = (int) next & feed.mask;
+            long sequence = feed.published.get(index);
+            if (sequence < next) {
+                // claimed but not published yet
+                break;
+            }
+            ChangeFeed.Slot slot = feed.slots[index];
+            int type = slot.type;
+            String rocket = slot.rocket;
+            String mission = slot.mission;
+            int fromStatus = slot.fromStatus;
+            int toStatus = slot.toStatus;
+            int count = slot.count;
+            // the fields must be read before the sequence is checked again
+            VarHandle.acquireFence();
+            if (sequence != next || feed.published.get(index) != sequence) {
+                skipOverwritten();
+                continue;
+            }
+            consumer.accept(toChange(sequence, type, rocket, mission, fromStatus, toStatus, count));
+            next++;
+            delivered++;
+        }
+        return delivered;
+    }
+
+    // changes that were overwritten before this subscription read them
+    public long missed() {
+        return missed;
+    }
+
+    private void skipOverwritten() {
+        long oldestAvailable = Math.max(next + 1, feed.claimed.get() - feed.capacity);
+        missed += oldestAvailable - next;
+        next = oldestAvailable;
+    }
+
+    private static FleetChange toChange(long sequence, int type, String rocket, String mission, int fromStatus, int toStatus, int count) {
+        return switch (type) {
+            case ChangeFeed.ROCKET_ASSIGNED -> new FleetChange.RocketAssigned(sequence, rocket, mission,
+                    ROCKET_STATUSES[fromStatus], ROCKET_STATUSES[toStatus]);
+            case ChangeFeed.ROCKET_STATUS_CHANGED -> new FleetChange.RocketStatusChanged(sequence, rocket, mission,
+                    ROCKET_STATUSES[fromStatus], ROCKET_STATUSES[toStatus]);
+            case ChangeFeed.MISSION_STATUS_CHANGED -> new FleetChange.MissionStatusChanged(sequence, mission,
+                    MISSION_STATUSES[fromStatus], MISSION_STATUSES[toStatus]);
+            default -> new FleetChange.MissionFinished(sequence, mission, MISSION_STATUSES[fromStatus], count);
+        };
+    }
+}
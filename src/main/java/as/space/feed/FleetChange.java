@@ -0,0 +1,26 @@
+package as.space.feed;
+
+import as.space.model.MissionStatus;
+import as.space.model.RocketStatus;
+
+public sealed interface FleetChange {
+    // position of the change in the feed, consecutive for all changes of a feed
+    long sequence();
+
+    record RocketAssigned(long sequence, String rocket, String mission, RocketStatus fromStatus, RocketStatus toStatus)
+            implements FleetChange {
+    }
+
+    // mission is the one the rocket was assigned to before the change, null when it was not assigned
+    record RocketStatusChanged(long sequence, String rocket, String mission, RocketStatus fromStatus, RocketStatus toStatus)
+            implements FleetChange {
+    }
+
+    record MissionStatusChanged(long sequence, String mission, MissionStatus fromStatus, MissionStatus toStatus)
+            implements FleetChange {
+    }
+
+    record MissionFinished(long sequence, String mission, MissionStatus fromStatus, int releasedRockets)
+            implements FleetChange {
+    }
+}
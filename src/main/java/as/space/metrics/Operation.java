@@ -0,0 +1,9 @@
+package as.space.metrics;
+
+public enum Operation {
+    ASSIGN_ROCKET,
+    ASSIGN_ROCKETS,
+    CHANGE_ROCKET_STATUS,
+    FINISH_MISSION,
+    GENERATE_REPORT,
+}
@@ -0,0 +1,45 @@
+package as.space.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics {
+    private final LongAdder calls = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Class<? extends Exception>, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(long startNanos) {
+        calls.increment();
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    public void recordFailure(long startNanos, Exception exception) {
+        record(startNanos);
+        errors.computeIfAbsent(exception.getClass(), type -> new LongAdder()).increment();
+    }
+
+    // completed calls, including the ones that failed
+    public long calls() {
+        return calls.sum();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long errors() {
+        long count = 0;
+        for (LongAdder adder : errors.values()) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    public Map<Class<? extends Exception>, Long> errorsByType() {
+        Map<Class<? extends Exception>, Long> counts = new HashMap<>();
+        errors.forEach((type, adder) -> counts.put(type, adder.sum()));
+        return counts;
+    }
+}
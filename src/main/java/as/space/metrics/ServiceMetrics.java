@@ -0,0 +1,20 @@
+package as.space.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Metrics of every service operation. Recording does not allocate, so it stays on in production; a single instance
+// can be shared by the services of a fleet.
+public class ServiceMetrics {
+    private final Map<Operation, OperationMetrics> operations = new EnumMap<>(Operation.class);
+
+    public ServiceMetrics() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationMetrics());
+        }
+    }
+
+    public OperationMetrics of(Operation operation) {
+        return operations.get(operation);
+    }
+}
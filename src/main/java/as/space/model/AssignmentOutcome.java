@@ -0,0 +1,5 @@
+package as.space.model;
+
+public enum AssignmentOutcome {
+    ASSIGNED, ROCKET_NOT_FOUND, ROCKET_ALREADY_ASSIGNED,
+}
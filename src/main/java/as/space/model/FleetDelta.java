@@ -0,0 +1,8 @@
+package as.space.model;
+
+import java.util.List;
+
+// Missions and rockets changed since a fleet version, as they are now. Missions are in report order, rockets sorted by
+// name. The next delta is requested since the version of this one.
+public record FleetDelta(FleetVersion version, List<Mission> missions, List<Rocket> rockets) {
+}
@@ -0,0 +1,15 @@
+package as.space.model;
+
+import java.util.Map;
+
+// Fleet totals at one point in time.
+public record FleetStatistics(Map<RocketStatus, Integer> rocketsByStatus, Map<MissionStatus, Integer> missionsByStatus,
+                              int rocketsInActiveMissions) {
+    public int rockets(RocketStatus status) {
+        return rocketsByStatus.getOrDefault(status, 0);
+    }
+
+    public int missions(MissionStatus status) {
+        return missionsByStatus.getOrDefault(status, 0);
+    }
+}
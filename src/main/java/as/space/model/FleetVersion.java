@@ -0,0 +1,9 @@
+package as.space.model;
+
+// Change versions of the rocket and the mission repository. Both only grow, so a later version is never before an
+// earlier one in either of them. The versions are not persisted and restart at 0 when the repositories are opened
+// again, so they are only comparable within one epoch, which identifies the report service that issued them.
+public record FleetVersion(long epoch, long rockets, long missions) {
+    // before the first change, a delta since it holds the whole fleet. No report service issues epoch 0.
+    public static final FleetVersion INITIAL = new FleetVersion(0, 0, 0);
+}
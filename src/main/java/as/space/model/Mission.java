@@ -1,4 +1,13 @@
 package as.space.model;
 
-public record Mission(String name, MissionStatus status, int allRocketsCnt, int inSpaceCnt, int inRepairCnt) {
+import java.util.Comparator;
+
+public record Mission(String name, MissionStatus status, int allRocketsCnt, int inSpaceCnt, int inRepairCnt, long version) {
+    // missions with more rockets first, ties in reverse name order
+    public static final Comparator<Mission> REPORT_ORDER = Comparator.comparingInt(Mission::allRocketsCnt).reversed()
+            .thenComparing(Mission::name, Comparator.reverseOrder());
+
+    public Mission(String name, MissionStatus status, int allRocketsCnt, int inSpaceCnt, int inRepairCnt) {
+        this(name, status, allRocketsCnt, inSpaceCnt, inRepairCnt, 0);
+    }
 }
@@ -0,0 +1,9 @@
+package as.space.model;
+
+// Position in the mission listing, right after the mission with this rocket count and name. It stays valid when that
+// mission changes or no longer exists.
+public record MissionCursor(int allRocketsCnt, String name) {
+    public static MissionCursor after(Mission mission) {
+        return new MissionCursor(mission.allRocketsCnt(), mission.name());
+    }
+}
@@ -0,0 +1,23 @@
+package as.space.model;
+
+// Status of a mission before and after an update. Instances are shared, so returning one does not allocate.
+public record MissionTransition(MissionStatus from, MissionStatus to) {
+    private static final MissionStatus[] STATUSES = MissionStatus.values();
+    private static final MissionTransition[] TRANSITIONS = new MissionTransition[STATUSES.length * STATUSES.length];
+
+    static {
+        for (MissionStatus from : STATUSES) {
+            for (MissionStatus to : STATUSES) {
+                TRANSITIONS[from.ordinal() * STATUSES.length + to.ordinal()] = new MissionTransition(from, to);
+            }
+        }
+    }
+
+    public static MissionTransition of(MissionStatus from, MissionStatus to) {
+        return TRANSITIONS[from.ordinal() * STATUSES.length + to.ordinal()];
+    }
+
+    public boolean changed() {
+        return from != to;
+    }
+}
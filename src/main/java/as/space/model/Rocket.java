@@ -1,4 +1,7 @@
 package as.space.model;
 
-public record Rocket(String name, RocketStatus status, String mission) {
+public record Rocket(String name, RocketStatus status, String mission, long version) {
+    public Rocket(String name, RocketStatus status, String mission) {
+        this(name, status, mission, 0);
+    }
 }
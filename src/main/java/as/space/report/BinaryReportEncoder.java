@@ -0,0 +1,59 @@
+package as.space.report;
+
+import as.space.model.Mission;
+import as.space.model.Rocket;
+
+import java.io.IOException;
+
+// Compact big-endian encoding, statuses are written as the ordinals of their enums.
+//
+// header:  magic int, format version byte
+// mission: MISSION byte, name, status byte, all rockets int, in space int, in repair int, rocket count int,
+//          followed by its rockets
+// rocket:  name, status byte
+// end:     END byte
+// name:    length unsigned short, UTF-8 bytes
+public class BinaryReportEncoder implements ReportEncoder {
+    public static final int MAGIC = 0x41535250;
+    public static final int FORMAT_VERSION = 1;
+    public static final int MISSION = 1;
+    public static final int END = 0;
+
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    @Override
+    public void beginReport(ReportOutput output) throws IOException {
+        output.putInt(MAGIC).putByte(FORMAT_VERSION);
+    }
+
+    @Override
+    public void beginMission(ReportOutput output, Mission mission, int position, int rockets) throws IOException {
+        output.putByte(MISSION);
+        putName(output, mission.name());
+        output.putByte(mission.status().ordinal()).putInt(mission.allRocketsCnt()).putInt(mission.inSpaceCnt())
+                .putInt(mission.inRepairCnt()).putInt(rockets);
+    }
+
+    @Override
+    public void rocket(ReportOutput output, Mission mission, Rocket rocket, int position) throws IOException {
+        putName(output, rocket.name());
+        output.putByte(rocket.status().ordinal());
+    }
+
+    @Override
+    public void endMission(ReportOutput output, Mission mission) {
+    }
+
+    @Override
+    public void endReport(ReportOutput output) throws IOException {
+        output.putByte(END);
+    }
+
+    private static void putName(ReportOutput output, String name) throws IOException {
+        int length = ReportOutput.utf8Length(name);
+        if (length > MAX_NAME_BYTES) {
+            throw new IOException("Name '" + name.substring(0, 32) + "...' is too long for a binary report.");
+        }
+        output.putShort(length).putUtf8(name);
+    }
+}
@@ -0,0 +1,75 @@
+package as.space.report;
+
+import as.space.model.Mission;
+import as.space.model.Rocket;
+
+import java.io.IOException;
+
+// One row per rocket, a mission without rockets gets a row with empty rocket columns. Rows end with CRLF and fields
+// are quoted when needed, as described in RFC 4180.
+public class CsvReportEncoder implements ReportEncoder {
+    private static final String HEADER = "mission,mission_status,dragons,rocket,rocket_status\r\n";
+
+    @Override
+    public void beginReport(ReportOutput output) throws IOException {
+        output.putAscii(HEADER);
+    }
+
+    @Override
+    public void beginMission(ReportOutput output, Mission mission, int position, int rockets) throws IOException {
+        if (rockets == 0) {
+            putMissionColumns(output, mission);
+            output.putAscii(",,\r\n");
+        }
+    }
+
+    @Override
+    public void rocket(ReportOutput output, Mission mission, Rocket rocket, int position) throws IOException {
+        putMissionColumns(output, mission);
+        output.putByte(',');
+        putField(output, rocket.name());
+        output.putByte(',').putAscii(rocket.status().name()).putAscii("\r\n");
+    }
+
+    @Override
+    public void endMission(ReportOutput output, Mission mission) {
+    }
+
+    @Override
+    public void endReport(ReportOutput output) {
+    }
+
+    private static void putMissionColumns(ReportOutput output, Mission mission) throws IOException {
+        putField(output, mission.name());
+        output.putByte(',').putAscii(mission.status().name()).putByte(',').putDecimal(mission.allRocketsCnt());
+    }
+
+    private static void putField(ReportOutput output, String value) throws IOException {
+        if (!needsQuotes(value)) {
+            output.putUtf8(value);
+            return;
+        }
+        output.putByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            int codePoint = ReportOutput.codePointAt(value, i);
+            if (codePoint > Character.MAX_VALUE) {
+                i++;
+            }
+            if (codePoint == '"') {
+                output.putByte('"');
+            }
+            output.putCodePoint(codePoint);
+        }
+        output.putByte('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package as.space.report;
+
+import as.space.model.Mission;
+import as.space.model.Rocket;
+
+import java.io.IOException;
+
+// {"missions":[{"name":"Mars","status":"IN_PROGRESS","dragons":1,"inSpace":1,"inRepair":0,
+//   "rockets":[{"name":"Red Dragon","status":"IN_SPACE"}]}]}
+public class JsonReportEncoder implements ReportEncoder {
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    @Override
+    public void beginReport(ReportOutput output) throws IOException {
+        output.putAscii("{\"missions\":[");
+    }
+
+    @Override
+    public void beginMission(ReportOutput output, Mission mission, int position, int rockets) throws IOException {
+        if (position > 0) {
+            output.putByte(',');
+        }
+        output.putAscii("{\"name\":");
+        putString(output, mission.name());
+        output.putAscii(",\"status\":\"").putAscii(mission.status().name())
+                .putAscii("\",\"dragons\":").putDecimal(mission.allRocketsCnt())
+                .putAscii(",\"inSpace\":").putDecimal(mission.inSpaceCnt())
+                .putAscii(",\"inRepair\":").putDecimal(mission.inRepairCnt())
+                .putAscii(",\"rockets\":[");
+    }
+
+    @Override
+    public void rocket(ReportOutput output, Mission mission, Rocket rocket, int position) throws IOException {
+        if (position > 0) {
+            output.putByte(',');
+        }
+        output.putAscii("{\"name\":");
+        putString(output, rocket.name());
+        output.putAscii(",\"status\":\"").putAscii(rocket.status().name()).putAscii("\"}");
+    }
+
+    @Override
+    public void endMission(ReportOutput output, Mission mission) throws IOException {
+        output.putAscii("]}");
+    }
+
+    @Override
+    public void endReport(ReportOutput output) throws IOException {
+        output.putAscii("]}\n");
+    }
+
+    private static void putString(ReportOutput output, String value) throws IOException {
+        output.putByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            int codePoint = ReportOutput.codePointAt(value, i);
+            if (codePoint > Character.MAX_VALUE) {
+                i++;
+            }
+            switch (codePoint) {
+                case '"' -> output.putAscii("\\\"");
+                case '\\' -> output.putAscii("\\\\");
+                case '\n' -> output.putAscii("\\n");
+                case '\r' -> output.putAscii("\\r");
+                case '\t' -> output.putAscii("\\t");
+                default -> {
+                    if (codePoint < 0x20) {
+                        output.putAscii("\\u00").putByte(HEX_DIGITS.charAt(codePoint >> 4)).putByte(HEX_DIGITS.charAt(codePoint & 0xF));
+                    } else {
+                        output.putCodePoint(codePoint);
+                    }
+                }
+            }
+        }
+        output.putByte('"');
+    }
+}
@@ -0,0 +1,23 @@
+package as.space.report;
+
+import as.space.model.Mission;
+import as.space.model.Rocket;
+
+import java.io.IOException;
+
+// Writes one report format. ReportService walks the missions in report order and the rockets of each mission by name,
+// and calls the encoder for each of them. Encoders keep no state between calls, so one instance can encode any
+// number of reports at once.
+public interface ReportEncoder {
+    void beginReport(ReportOutput output) throws IOException;
+
+    // position is the index of the mission in the report, rockets is the number of rockets that follow it
+    void beginMission(ReportOutput output, Mission mission, int position, int rockets) throws IOException;
+
+    // position is the index of the rocket within its mission
+    void rocket(ReportOutput output, Mission mission, Rocket rocket, int position) throws IOException;
+
+    void endMission(ReportOutput output, Mission mission) throws IOException;
+
+    void endReport(ReportOutput output) throws IOException;
+}
@@ -0,0 +1,128 @@
+package as.space.report;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Byte sink the report encoders write to. Bytes are collected in the given buffer, which is written to the channel
+// whenever it fills up, so encoding does not allocate. Text is encoded to UTF-8 character by character, an unpaired
+// surrogate is written as '?' like String.getBytes does.
+public final class ReportOutput {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public ReportOutput(WritableByteChannel channel, ByteBuffer buffer) {
+        if (buffer.capacity() < Long.BYTES) {
+            throw new IllegalArgumentException("Report buffer must hold at least " + Long.BYTES + " bytes.");
+        }
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.clear();
+    }
+
+    public ReportOutput putByte(int value) throws IOException {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+        return this;
+    }
+
+    public ReportOutput putShort(int value) throws IOException {
+        ensureRemaining(Short.BYTES);
+        buffer.putShort((short) value);
+        return this;
+    }
+
+    public ReportOutput putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+
+    // for literals of the formats, every char is written as a single byte
+    public ReportOutput putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            putByte(text.charAt(i));
+        }
+        return this;
+    }
+
+    public ReportOutput putDecimal(int value) throws IOException {
+        if (value < 0) {
+            putByte('-');
+            if (value == Integer.MIN_VALUE) {
+                return putAscii("2147483648");
+            }
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            putByte('0' + value / divisor % 10);
+        }
+        return this;
+    }
+
+    public ReportOutput putUtf8(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            int codePoint = codePointAt(text, i);
+            if (codePoint > Character.MAX_VALUE) {
+                i++;
+            }
+            putCodePoint(codePoint);
+        }
+        return this;
+    }
+
+    public ReportOutput putCodePoint(int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            return putByte(codePoint);
+        }
+        int length = codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        ensureRemaining(length);
+        int shift = 6 * (length - 1);
+        // leading byte carries the length marker, continuation bytes are 10xxxxxx
+        buffer.put((byte) ((0xF00 >> length) | (codePoint >> shift)));
+        while ((shift -= 6) >= 0) {
+            buffer.put((byte) (0x80 | ((codePoint >> shift) & 0x3F)));
+        }
+        return this;
+    }
+
+    // writes out whatever is buffered, called once the report is complete
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // the code point starting at the index, a pair of surrogates counts as one code point
+    public static int codePointAt(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
+            return Character.toCodePoint(c, text.charAt(index + 1));
+        }
+        return Character.isSurrogate(c) ? '?' : c;
+    }
+
+    public static int utf8Length(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int codePoint = codePointAt(text, i);
+            if (codePoint > Character.MAX_VALUE) {
+                i++;
+            }
+            length += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        }
+        return length;
+    }
+
+    private void ensureRemaining(int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush();
+        }
+    }
+}
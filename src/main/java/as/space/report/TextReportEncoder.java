@@ -0,0 +1,33 @@
+package as.space.report;
+
+import as.space.model.Mission;
+import as.space.model.Rocket;
+
+import java.io.IOException;
+
+// The human readable report of ReportService.generateReport, UTF-8 encoded
+public class TextReportEncoder implements ReportEncoder {
+
+    @Override
+    public void beginReport(ReportOutput output) {
+    }
+
+    @Override
+    public void beginMission(ReportOutput output, Mission mission, int position, int rockets) throws IOException {
+        output.putUtf8(mission.name()).putAscii(" - ").putAscii(mission.status().name()).putAscii(" - ")
+                .putDecimal(mission.allRocketsCnt()).putAscii(" dragons\n");
+    }
+
+    @Override
+    public void rocket(ReportOutput output, Mission mission, Rocket rocket, int position) throws IOException {
+        output.putAscii("  ").putUtf8(rocket.name()).putAscii(" - ").putAscii(rocket.status().name()).putByte('\n');
+    }
+
+    @Override
+    public void endMission(ReportOutput output, Mission mission) {
+    }
+
+    @Override
+    public void endReport(ReportOutput output) {
+    }
+}
@@ -0,0 +1,98 @@
+package as.space.repository;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.io.IOException;
+import java.util.*;
+
+// Assignments of the rockets to the missions, with the rockets as the source of truth. Rockets still assigned to an
+// ended mission are released, as finishMission leaves them, and the counters of the other missions are counted from
+// the rockets assigned to them. Used wherever missions and rockets are brought back in line, when a snapshot is
+// written and when journals that may have been cut between the two writes of an operation are opened.
+final class Assignments {
+    static final int NO_MISSION = -1;
+
+    private final List<Rocket> rockets;
+    private final List<Mission> missions;
+    private final List<Rocket> released = new ArrayList<>();
+    private final int[] missionPositions;
+    private final int[] allRocketsCounts;
+    private final int[] inRepairCounts;
+
+    Assignments(List<Rocket> rockets, List<Mission> missions) throws IOException {
+        this.rockets = new ArrayList<>(rockets);
+        this.missions = missions;
+        Map<String, Integer> positions = new HashMap<>(missions.size() * 2);
+        for (int position = 0; position < missions.size(); position++) {
+            positions.put(missions.get(position).name(), position);
+        }
+        missionPositions = new int[rockets.size()];
+        allRocketsCounts = new int[missions.size()];
+        inRepairCounts = new int[missions.size()];
+        for (int i = 0; i < this.rockets.size(); i++) {
+            Rocket rocket = this.rockets.get(i);
+            missionPositions[i] = NO_MISSION;
+            if (rocket.mission() == null) {
+                continue;
+            }
+            Integer position = positions.get(rocket.mission());
+            if (position == null) {
+                throw new IOException("Rocket '" + rocket.name() + "' is assigned to mission '" + rocket.mission() + "', which does not exist.");
+            }
+            if (missions.get(position).status() == MissionStatus.ENDED) {
+                RocketStatus status = rocket.status() == RocketStatus.IN_SPACE ? RocketStatus.ON_GROUND : rocket.status();
+                Rocket releasedRocket = new Rocket(rocket.name(), status, null, rocket.version() + 1);
+                this.rockets.set(i, releasedRocket);
+                released.add(releasedRocket);
+                continue;
+            }
+            missionPositions[i] = position;
+            allRocketsCounts[position]++;
+            if (rocket.status() == RocketStatus.IN_REPAIR) {
+                inRepairCounts[position]++;
+            }
+        }
+    }
+
+    // the rockets in the given order, the released ones as released
+    List<Rocket> rockets() {
+        return rockets;
+    }
+
+    // rockets that were assigned to an ended mission, as released
+    List<Rocket> released() {
+        return released;
+    }
+
+    // position in the missions of the mission of the rocket at the given position, NO_MISSION when it has none
+    int missionPosition(int rocket) {
+        return missionPositions[rocket];
+    }
+
+    // the mission at the given position with its counters as counted from the rockets and the status following them,
+    // an ended mission stays ended. The version is left as it is.
+    Mission counted(int position) {
+        Mission mission = missions.get(position);
+        int allRockets = allRocketsCounts[position];
+        int inRepair = inRepairCounts[position];
+        MissionStatus status = mission.status() == MissionStatus.ENDED ? MissionStatus.ENDED
+                : InMemoryMissionRepository.statusOf(allRockets, inRepair);
+        return new Mission(mission.name(), status, allRockets, allRockets - inRepair, inRepair, mission.version());
+    }
+
+    // missions whose stored counters or status differ from the counted ones, as counted and with the next version
+    List<Mission> miscounted() {
+        List<Mission> miscounted = new ArrayList<>();
+        for (int position = 0; position < missions.size(); position++) {
+            Mission counted = counted(position);
+            if (!counted.equals(missions.get(position))) {
+                miscounted.add(new Mission(counted.name(), counted.status(), counted.allRocketsCnt(),
+                        counted.inSpaceCnt(), counted.inRepairCnt(), counted.version() + 1));
+            }
+        }
+        return miscounted;
+    }
+}
@@ -0,0 +1,149 @@
+package as.space.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Records in the order of their last change, each with the change version it got. The change version and the links are
+// kept in the stored record itself, which extends Entry, so the log adds no object per record. Records are spread over
+// stripes by name, each stripe links its records in change order under its own lock, so changes of records in
+// different stripes do not wait for each other. A change moves the record to the end of its stripe, so the records
+// changed after a version are found by walking back from the end of every stripe.
+final class ChangeLog<E extends ChangeLog.Entry> {
+    private static final int STRIPES = 64;
+    private static final long NOT_RECORDING = Long.MAX_VALUE;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    ChangeLog() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // called after the change is stored, so a reader that sees the new version also reads the changed state
+    void record(String name, E record) {
+        Entry entry = record;
+        Stripe stripe = stripes[stripe(name)];
+        stripe.lock.lock();
+        try {
+            // set before the version is taken and cleared once the entry is linked, see version(). Release stores are
+            // enough: the increment publishes the first one, and a reader that sees the second one also sees the links.
+            stripe.recording.setRelease(version.get() + 1);
+            entry.changeVersion = version.incrementAndGet();
+            if (entry != stripe.last) {
+                if (entry.next != null) {
+                    unlink(entry);
+                }
+                entry.previous = stripe.last;
+                if (stripe.last != null) {
+                    stripe.last.next = entry;
+                }
+                stripe.last = entry;
+            }
+            stripe.recording.setRelease(NOT_RECORDING);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // records the entries as changed together, all under one version. Used to fill a log at once, the entries must
+    // not be recorded yet.
+    void recordAll(Collection<E> records, Function<? super E, String> name) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.recording.setRelease(version.get() + 1);
+            }
+            long changeVersion = version.incrementAndGet();
+            for (E record : records) {
+                Entry entry = record;
+                Stripe stripe = stripes[stripe(name.apply(record))];
+                entry.changeVersion = changeVersion;
+                entry.previous = stripe.last;
+                if (stripe.last != null) {
+                    stripe.last.next = entry;
+                }
+                stripe.last = entry;
+            }
+            for (Stripe stripe : stripes) {
+                stripe.recording.setRelease(NOT_RECORDING);
+            }
+        } finally {
+            for (Stripe stripe : stripes) {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // highest version whose changes are all linked: a change that took a version but is not linked yet holds the
+    // returned version below its own, so changedSince of the returned version never misses it
+    long version() {
+        long current = version.get();
+        for (Stripe stripe : stripes) {
+            current = Math.min(current, stripe.recording.getAcquire() - 1);
+        }
+        return current;
+    }
+
+    // entries changed after the given version, in the order of their last change
+    List<E> changedSince(long version) {
+        List<Change<E>> changes = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (Entry entry = stripe.last; entry != null && entry.changeVersion > version; entry = entry.previous) {
+                    @SuppressWarnings("unchecked")
+                    E changed = (E) entry;
+                    changes.add(new Change<>(entry.changeVersion, changed));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        changes.sort((first, second) -> Long.compare(first.version(), second.version()));
+        List<E> entries = new ArrayList<>(changes.size());
+        for (Change<E> change : changes) {
+            entries.add(change.entry());
+        }
+        return entries;
+    }
+
+    // the entry is linked and not the last one of its stripe, so it has a next entry
+    private static void unlink(Entry entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        }
+        entry.next.previous = entry.previous;
+        entry.next = null;
+    }
+
+    private static int stripe(String name) {
+        int hash = name.hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, STRIPES);
+    }
+
+    // fields are guarded by the lock of the stripe of the record
+    abstract static class Entry {
+        private long changeVersion;
+        private Entry previous;
+        private Entry next;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Entry last;
+        // lower bound of the version taken by the change being linked, NOT_RECORDING when there is none
+        private final AtomicLong recording = new AtomicLong(NOT_RECORDING);
+    }
+
+    private record Change<E>(long version, E entry) {
+    }
+}
@@ -0,0 +1,491 @@
+package as.space.repository;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps rocket state in primitive columns indexed by a dense rocket id and creates Rocket records only when they are
+// read. Rockets of the same mission are linked through the next/previous columns, so listing a mission walks only
+// its own rockets, and rockets of the same status are linked the same way. All rockets are also linked in the order of
+// their last change, which is what findChangedSince walks. Reads share a read lock, saves take the write lock.
+// The mission and status lists are linked in no order, so linking stays O(1) per save and listing sorts what it walks.
+public class ColumnarRocketRepository implements RocketRepository {
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+    private static final Comparator<Rocket> BY_NAME = Comparator.comparing(Rocket::name);
+    private static final int NONE = -1;
+    private static final int UNKNOWN_MISSION = -2;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameDictionary missionNames = new NameDictionary();
+
+    private String[] names;
+    private byte[] statuses;
+    // mission id, NONE when the rocket is not assigned
+    private int[] missions;
+    private long[] versions;
+    private int[] nextInMission;
+    private int[] previousInMission;
+    // mission id + 1 -> first rocket of the mission, unassigned rockets are linked from slot 0
+    private int[] missionHeads;
+    private int[] nextInStatus;
+    private int[] previousInStatus;
+    // status ordinal -> first rocket with that status
+    private final int[] statusHeads = new int[STATUSES.length];
+    private final int[] statusCounts = new int[STATUSES.length];
+    // change version of the last change of each rocket, rockets are linked from the last changed one backwards
+    private long[] changeVersions;
+    private int[] nextChanged;
+    private int[] previousChanged;
+    private int lastChanged = NONE;
+    private long changeVersion;
+    // open addressing by name hash, holds rocket id + 1 and 0 for a free slot
+    private int[] table;
+    private int size;
+
+    public ColumnarRocketRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // sizes the columns upfront, used when a large fleet is loaded at once
+    public ColumnarRocketRepository(int expectedRockets) {
+        int capacity = Math.max(expectedRockets, DEFAULT_CAPACITY);
+        names = new String[capacity];
+        statuses = new byte[capacity];
+        missions = new int[capacity];
+        versions = new long[capacity];
+        nextInMission = new int[capacity];
+        previousInMission = new int[capacity];
+        missionHeads = new int[DEFAULT_CAPACITY];
+        Arrays.fill(missionHeads, NONE);
+        nextInStatus = new int[capacity];
+        previousInStatus = new int[capacity];
+        Arrays.fill(statusHeads, NONE);
+        changeVersions = new long[capacity];
+        nextChanged = new int[capacity];
+        previousChanged = new int[capacity];
+        table = new int[Integer.highestOneBit(capacity - 1) << 2];
+    }
+
+    @Override
+    public void save(Rocket rocket) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            put(rocket);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Rocket> rockets) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (Rocket rocket : rockets) {
+                put(rocket);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Rocket rocket) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (idOf(rocket.name()) != NONE) {
+                return false;
+            }
+            put(rocket);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int id = idOf(rocket.name());
+            if (id == NONE || versions[id] != expectedVersion) {
+                return false;
+            }
+            update(id, rocket);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSetStatus(String name, RocketStatus expectedStatus, String expectedMission, RocketStatus status, String mission) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int id = idOf(name);
+            if (id == NONE || statuses[id] != expectedStatus.ordinal() || missions[id] != findMissionId(expectedMission)) {
+                return false;
+            }
+            int missionId = missionId(mission);
+            if (missionId != missions[id]) {
+                unlink(id);
+                missions[id] = missionId;
+                link(id);
+            }
+            setStatus(id, status);
+            versions[id]++;
+            recordChange(id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public RocketStatus findStatus(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            return id == NONE ? null : STATUSES[statuses[id]];
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public String findMission(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            return id == NONE || missions[id] == NONE ? null : missionNames.nameOf(missions[id]);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Rocket> findByName(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            return id == NONE ? Optional.empty() : Optional.of(rocketAt(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findAllByName(Collection<String> names) {
+        List<Rocket> rockets = new ArrayList<>(names.size());
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (String name : names) {
+                int id = idOf(name);
+                if (id != NONE) {
+                    rockets.add(rocketAt(id));
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return rockets;
+    }
+
+    @Override
+    public List<Rocket> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Rocket> rockets = new ArrayList<>(size);
+            for (int id = 0; id < size; id++) {
+                rockets.add(rocketAt(id));
+            }
+            return Collections.unmodifiableList(rockets);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findByMission(String mission) {
+        List<Rocket> rockets = new ArrayList<>();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int missionId = NONE;
+            if (mission != null) {
+                missionId = missionNames.find(mission);
+                if (missionId == NameDictionary.NOT_FOUND) {
+                    return List.of();
+                }
+            }
+            int slot = missionId + 1;
+            int id = slot < missionHeads.length ? missionHeads[slot] : NONE;
+            for (; id != NONE; id = nextInMission[id]) {
+                rockets.add(rocketAt(id));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        rockets.sort(BY_NAME);
+        return Collections.unmodifiableList(rockets);
+    }
+
+    @Override
+    public List<Rocket> findByStatus(RocketStatus status) {
+        List<Rocket> rockets;
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            rockets = new ArrayList<>(statusCounts[status.ordinal()]);
+            for (int id = statusHeads[status.ordinal()]; id != NONE; id = nextInStatus[id]) {
+                rockets.add(rocketAt(id));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        rockets.sort(BY_NAME);
+        return Collections.unmodifiableList(rockets);
+    }
+
+    @Override
+    public int countByStatus(RocketStatus status) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return statusCounts[status.ordinal()];
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public long changeVersion() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return changeVersion;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findChangedSince(long changeVersion) {
+        List<Rocket> rockets = new ArrayList<>();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (int id = lastChanged; id != NONE && changeVersions[id] > changeVersion; id = previousChanged[id]) {
+                rockets.add(rocketAt(id));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        Collections.reverse(rockets);
+        return rockets;
+    }
+
+    private Rocket rocketAt(int id) {
+        String mission = missions[id] == NONE ? null : missionNames.nameOf(missions[id]);
+        return new Rocket(names[id], STATUSES[statuses[id]], mission, versions[id]);
+    }
+
+    private void put(Rocket rocket) {
+        int id = idOf(rocket.name());
+        if (id != NONE) {
+            update(id, rocket);
+            return;
+        }
+        if (size == names.length) {
+            grow();
+        }
+        id = size++;
+        names[id] = rocket.name();
+        statuses[id] = (byte) rocket.status().ordinal();
+        missions[id] = missionId(rocket.mission());
+        versions[id] = rocket.version();
+        link(id);
+        linkStatus(id);
+        appendChanged(id);
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(table, id);
+        }
+    }
+
+    private void update(int id, Rocket rocket) {
+        int mission = missionId(rocket.mission());
+        if (mission != missions[id]) {
+            unlink(id);
+            missions[id] = mission;
+            link(id);
+        }
+        setStatus(id, rocket.status());
+        versions[id] = rocket.version();
+        recordChange(id);
+    }
+
+    private void setStatus(int id, RocketStatus status) {
+        if (statuses[id] != status.ordinal()) {
+            unlinkStatus(id);
+            statuses[id] = (byte) status.ordinal();
+            linkStatus(id);
+        }
+    }
+
+    private int missionId(String mission) {
+        return mission == null ? NONE : missionNames.idOf(mission);
+    }
+
+    // does not register the mission, a mission without an id has no rockets and matches none
+    private int findMissionId(String mission) {
+        if (mission == null) {
+            return NONE;
+        }
+        int missionId = missionNames.find(mission);
+        return missionId == NameDictionary.NOT_FOUND ? UNKNOWN_MISSION : missionId;
+    }
+
+    private void link(int id) {
+        int slot = missions[id] + 1;
+        if (slot >= missionHeads.length) {
+            int length = missionHeads.length;
+            missionHeads = Arrays.copyOf(missionHeads, Math.max(length * 2, slot + 1));
+            Arrays.fill(missionHeads, length, missionHeads.length, NONE);
+        }
+        int head = missionHeads[slot];
+        nextInMission[id] = head;
+        previousInMission[id] = NONE;
+        if (head != NONE) {
+            previousInMission[head] = id;
+        }
+        missionHeads[slot] = id;
+    }
+
+    private void unlink(int id) {
+        int previous = previousInMission[id];
+        int next = nextInMission[id];
+        if (previous == NONE) {
+            missionHeads[missions[id] + 1] = next;
+        } else {
+            nextInMission[previous] = next;
+        }
+        if (next != NONE) {
+            previousInMission[next] = previous;
+        }
+    }
+
+    private void linkStatus(int id) {
+        int status = statuses[id];
+        int head = statusHeads[status];
+        nextInStatus[id] = head;
+        previousInStatus[id] = NONE;
+        if (head != NONE) {
+            previousInStatus[head] = id;
+        }
+        statusHeads[status] = id;
+        statusCounts[status]++;
+    }
+
+    private void unlinkStatus(int id) {
+        int previous = previousInStatus[id];
+        int next = nextInStatus[id];
+        if (previous == NONE) {
+            statusHeads[statuses[id]] = next;
+        } else {
+            nextInStatus[previous] = next;
+        }
+        if (next != NONE) {
+            previousInStatus[next] = previous;
+        }
+        statusCounts[statuses[id]]--;
+    }
+
+    // moves the rocket to the end of the change order
+    private void recordChange(int id) {
+        if (id == lastChanged) {
+            changeVersions[id] = ++changeVersion;
+            return;
+        }
+        int previous = previousChanged[id];
+        int next = nextChanged[id];
+        if (previous != NONE) {
+            nextChanged[previous] = next;
+        }
+        previousChanged[next] = previous;
+        appendChanged(id);
+    }
+
+    private void appendChanged(int id) {
+        nextChanged[id] = NONE;
+        previousChanged[id] = lastChanged;
+        if (lastChanged != NONE) {
+            nextChanged[lastChanged] = id;
+        }
+        lastChanged = id;
+        changeVersions[id] = ++changeVersion;
+    }
+
+    private int idOf(String name) {
+        int mask = table.length - 1;
+        for (int slot = hash(name) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (names[id].equals(name)) {
+                return id;
+            }
+        }
+        return NONE;
+    }
+
+    private void insert(int[] target, int id) {
+        int mask = target.length - 1;
+        int slot = hash(names[id]) & mask;
+        while (target[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target[slot] = id + 1;
+    }
+
+    private void rehash(int length) {
+        int[] rehashed = new int[length];
+        for (int id = 0; id < size; id++) {
+            insert(rehashed, id);
+        }
+        table = rehashed;
+    }
+
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        missions = Arrays.copyOf(missions, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        nextInMission = Arrays.copyOf(nextInMission, capacity);
+        previousInMission = Arrays.copyOf(previousInMission, capacity);
+        nextInStatus = Arrays.copyOf(nextInStatus, capacity);
+        previousInStatus = Arrays.copyOf(previousInStatus, capacity);
+        changeVersions = Arrays.copyOf(changeVersions, capacity);
+        nextChanged = Arrays.copyOf(nextChanged, capacity);
+        previousChanged = Arrays.copyOf(previousChanged, capacity);
+    }
+
+    private static int hash(String name) {
+        int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,234 @@
+package as.space.repository;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Binary image of all missions and rockets. Missions are written first, rockets refer to their mission by its
+// position in the file instead of repeating the mission name. The file is read through a memory mapping.
+//
+// Rockets are the source of truth for assignments: the counters of each mission are written as counted from the
+// rockets written, and rockets still assigned to an ended mission are written released, as finishMission leaves
+// them. A snapshot whose counters do not match its rockets is rejected when it is opened.
+//
+// header:  magic int, format version int, mission count int, rocket count int
+// mission: name, status byte, all rockets int, in space int, in repair int, version long
+// rocket:  name, status byte, mission position int (-1 when not assigned), version long
+// name:    length short, UTF-8 bytes
+public final class FleetSnapshot {
+    private static final int MAGIC = 0x41535346;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_MISSION = Assignments.NO_MISSION;
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final int LOAD_BATCH_SIZE = 4096;
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+    private final ByteBuffer content;
+    // position of the first rocket in the content
+    private final int rocketsOffset;
+    private final String[] missionNames;
+    private final int rocketCount;
+
+    private FleetSnapshot(ByteBuffer content, int rocketsOffset, String[] missionNames, int rocketCount) {
+        this.content = content;
+        this.rocketsOffset = rocketsOffset;
+        this.missionNames = missionNames;
+        this.rocketCount = rocketCount;
+    }
+
+    public static void write(Path file, RocketRepository rocketRepository, MissionRepository missionRepository) throws IOException {
+        // rockets are read in one scan before the missions, and missions are never removed, so every mission a rocket
+        // refers to is in the list read after
+        List<Rocket> storedRockets = new ArrayList<>(rocketRepository.findAll());
+        // written in name order, the order the repositories index them in, so loading does not have to sort them
+        storedRockets.sort(Comparator.comparing(Rocket::name));
+        List<Mission> missions = missionRepository.getAllSorted();
+        Assignments assignments = new Assignments(storedRockets, missions);
+        List<Rocket> rockets = assignments.rockets();
+
+        // written next to the target and moved over it, so a crash never leaves a partial snapshot behind
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(missions.size()).putInt(rockets.size());
+            for (int position = 0; position < missions.size(); position++) {
+                Mission mission = assignments.counted(position);
+                putName(channel, buffer, mission.name());
+                ensureRemaining(channel, buffer, 1 + 3 * Integer.BYTES + Long.BYTES);
+                buffer.put((byte) mission.status().ordinal())
+                        .putInt(mission.allRocketsCnt()).putInt(mission.inSpaceCnt()).putInt(mission.inRepairCnt())
+                        .putLong(mission.version());
+            }
+            for (int i = 0; i < rockets.size(); i++) {
+                Rocket rocket = rockets.get(i);
+                putName(channel, buffer, rocket.name());
+                ensureRemaining(channel, buffer, 1 + Integer.BYTES + Long.BYTES);
+                buffer.put((byte) rocket.status().ordinal()).putInt(assignments.missionPosition(i)).putLong(rocket.version());
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Journal.syncDirectory(file);
+    }
+
+    // reads the whole snapshot once to check that it is complete and that the counters match the rockets
+    public static FleetSnapshot open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.remaining() < 4 * Integer.BYTES || mapped.getInt() != MAGIC) {
+            throw new IOException("File '" + file + "' is not a fleet snapshot.");
+        }
+        int formatVersion = mapped.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported fleet snapshot format version " + formatVersion + ".");
+        }
+        int missionCount = mapped.getInt();
+        int rocketCount = mapped.getInt();
+        ByteBuffer content = mapped.slice();
+        try {
+            return check(file, content, missionCount, rocketCount);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Fleet snapshot '" + file + "' is truncated.", e);
+        }
+    }
+
+    public int missionCount() {
+        return missionNames.length;
+    }
+
+    public int rocketCount() {
+        return rocketCount;
+    }
+
+    public void loadInto(RocketRepository rocketRepository, MissionRepository missionRepository) {
+        loadMissionsInto(missionRepository);
+        loadRocketsInto(rocketRepository);
+    }
+
+    void loadMissionsInto(MissionRepository missionRepository) {
+        ByteBuffer buffer = content.duplicate();
+        List<Mission> missions = new ArrayList<>(Math.min(missionNames.length, LOAD_BATCH_SIZE));
+        for (String missionName : missionNames) {
+            skipName(buffer);
+            MissionStatus status = MISSION_STATUSES[buffer.get()];
+            missions.add(new Mission(missionName, status, buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getLong()));
+            if (missions.size() == LOAD_BATCH_SIZE) {
+                missionRepository.saveAll(missions);
+                missions.clear();
+            }
+        }
+        missionRepository.saveAll(missions);
+    }
+
+    void loadRocketsInto(RocketRepository rocketRepository) {
+        ByteBuffer buffer = content.duplicate().position(rocketsOffset);
+        byte[] nameBytes = new byte[Short.MAX_VALUE];
+        List<Rocket> rockets = new ArrayList<>(rocketCount);
+        for (int i = 0; i < rocketCount; i++) {
+            String name = getName(buffer, nameBytes);
+            RocketStatus status = ROCKET_STATUSES[buffer.get()];
+            int missionReference = buffer.getInt();
+            String mission = missionReference == NO_MISSION ? null : missionNames[missionReference];
+            rockets.add(new Rocket(name, status, mission, buffer.getLong()));
+        }
+        rocketRepository.load(rockets);
+    }
+
+    private static FleetSnapshot check(Path file, ByteBuffer content, int missionCount, int rocketCount) throws IOException {
+        ByteBuffer buffer = content.duplicate();
+        byte[] nameBytes = new byte[Short.MAX_VALUE];
+        String[] missionNames = new String[missionCount];
+        int[] counters = new int[3 * missionCount];
+        for (int i = 0; i < missionCount; i++) {
+            missionNames[i] = getName(buffer, nameBytes);
+            checkOrdinal(file, buffer.get(), MISSION_STATUSES.length);
+            for (int counter = 0; counter < 3; counter++) {
+                counters[3 * i + counter] = buffer.getInt();
+            }
+            buffer.getLong();
+        }
+        int rocketsOffset = buffer.position();
+        // all rockets, in space and in repair of each mission, counted down to zero by its rockets
+        for (int i = 0; i < rocketCount; i++) {
+            skipName(buffer);
+            byte status = buffer.get();
+            checkOrdinal(file, status, ROCKET_STATUSES.length);
+            int missionReference = buffer.getInt();
+            buffer.getLong();
+            if (missionReference == NO_MISSION) {
+                continue;
+            }
+            if (missionReference < 0 || missionReference >= missionCount) {
+                throw new IOException("Fleet snapshot '" + file + "' has a rocket assigned to a mission it does not contain.");
+            }
+            counters[3 * missionReference]--;
+            counters[3 * missionReference + (ROCKET_STATUSES[status] == RocketStatus.IN_REPAIR ? 2 : 1)]--;
+        }
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] != 0) {
+                throw new IOException("Fleet snapshot '" + file + "' has counters of mission '" + missionNames[i / 3]
+                        + "' that do not match its rockets.");
+            }
+        }
+        return new FleetSnapshot(content, rocketsOffset, missionNames, rocketCount);
+    }
+
+    private static void checkOrdinal(Path file, byte ordinal, int statuses) throws IOException {
+        if (ordinal < 0 || ordinal >= statuses) {
+            throw new IOException("Fleet snapshot '" + file + "' has an unknown status " + ordinal + ".");
+        }
+    }
+
+    private static void putName(FileChannel channel, ByteBuffer buffer, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Name '" + name.substring(0, 32) + "...' is too long for a fleet snapshot.");
+        }
+        ensureRemaining(channel, buffer, Short.BYTES + bytes.length);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static void skipName(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        buffer.position(buffer.position() + length);
+    }
+
+    private static String getName(ByteBuffer buffer, byte[] nameBytes) {
+        int length = buffer.getShort();
+        buffer.get(nameBytes, 0, length);
+        return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -1,29 +1,280 @@
 package as.space.repository;
 
 import as.space.model.Mission;
+import as.space.model.MissionCursor;
+import as.space.model.MissionStatus;
+import as.space.model.MissionTransition;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+// Each mission is kept in a mutable slot guarded by its own lock, so counters can be updated in place. Mission
+// records are created when missions are read.
 public class InMemoryMissionRepository implements MissionRepository {
-    private final Map<String, Mission> store = new HashMap<>();
+    private final Map<String, Slot> store;
+    // kept in report order on every change of a rocket count, so listing never has to re-sort. Keys are the records
+    // the slots were last sorted by, only their rocket count and name are compared.
+    private final NavigableMap<Mission, Slot> sorted = new ConcurrentSkipListMap<>(Mission.REPORT_ORDER);
+    private final ChangeLog<Slot> changes = new ChangeLog<>();
+
+    public InMemoryMissionRepository() {
+        this.store = new ConcurrentHashMap<>();
+    }
+
+    // sizes the store upfront, used when a large fleet is loaded at once
+    public InMemoryMissionRepository(int expectedMissions) {
+        this.store = new ConcurrentHashMap<>(expectedMissions);
+    }
 
     @Override
     public void save(Mission mission) {
-        store.put(mission.name(), mission);
+        Slot slot = slotOf(mission.name());
+        slot.lock.lock();
+        try {
+            slot.status = mission.status();
+            slot.allRocketsCnt = mission.allRocketsCnt();
+            slot.inSpaceCnt = mission.inSpaceCnt();
+            slot.inRepairCnt = mission.inRepairCnt();
+            slot.version = mission.version();
+            resort(slot);
+            changes.record(slot.name, slot);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Mission> missions) {
+        for (Mission mission : missions) {
+            save(mission);
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Mission mission) {
+        Slot slot = slotOf(mission.name());
+        slot.lock.lock();
+        try {
+            if (slot.status != null) {
+                return false;
+            }
+            save(mission);
+            return true;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Mission mission) {
+        Slot slot = store.get(mission.name());
+        if (slot == null) {
+            return false;
+        }
+        slot.lock.lock();
+        try {
+            if (slot.status == null || slot.version != expectedVersion) {
+                return false;
+            }
+            save(mission);
+            return true;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public MissionTransition updateCounters(String name, int changeAllRockets, int changeInSpace, int changeInRepair) {
+        Slot slot = store.get(name);
+        if (slot == null) {
+            return null;
+        }
+        slot.lock.lock();
+        try {
+            if (slot.status == null || slot.status == MissionStatus.ENDED) {
+                return null;
+            }
+            MissionStatus previousStatus = slot.status;
+            slot.allRocketsCnt += changeAllRockets;
+            slot.inSpaceCnt += changeInSpace;
+            slot.inRepairCnt += changeInRepair;
+            slot.status = statusOf(slot.allRocketsCnt, slot.inRepairCnt);
+            slot.version++;
+            if (changeAllRockets != 0) {
+                resort(slot);
+            }
+            changes.record(name, slot);
+            return MissionTransition.of(previousStatus, slot.status);
+        } finally {
+            slot.lock.unlock();
+        }
     }
 
     @Override
     public Optional<Mission> findByName(String name) {
-        return Optional.ofNullable(store.get(name));
+        Slot slot = store.get(name);
+        return slot == null ? Optional.empty() : Optional.ofNullable(slot.toMission());
+    }
+
+    @Override
+    public List<Mission> findAllByName(Collection<String> names) {
+        List<Mission> missions = new ArrayList<>(names.size());
+        for (String name : names) {
+            Slot slot = store.get(name);
+            Mission mission = slot == null ? null : slot.toMission();
+            if (mission != null) {
+                missions.add(mission);
+            }
+        }
+        return missions;
     }
 
     @Override
     public List<Mission> getAllSorted() {
-        return store.values().stream()
-                .sorted(
-                        Comparator.comparingInt(Mission::allRocketsCnt).reversed()
-                                .thenComparing(Mission::name, Comparator.reverseOrder())
-                )
-                .toList();
+        List<Mission> missions = new ArrayList<>();
+        Iterator<Slot> slots = distinct(sorted.values().iterator());
+        while (slots.hasNext()) {
+            missions.add(slots.next().toMission());
+        }
+        return Collections.unmodifiableList(missions);
+    }
+
+    // walks only the skipped and the returned missions, a top-N listing never touches the rest
+    @Override
+    public List<Mission> getSorted(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative.");
+        }
+        Iterator<Slot> slots = distinct(sorted.values().iterator());
+        for (int i = 0; i < offset && slots.hasNext(); i++) {
+            slots.next();
+        }
+        return collect(slots, limit);
+    }
+
+    @Override
+    public List<Mission> getSortedAfter(MissionCursor cursor, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+        Collection<Slot> slots = cursor == null ? sorted.values()
+                : sorted.tailMap(new Mission(cursor.name(), MissionStatus.SCHEDULED, cursor.allRocketsCnt(), 0, 0), false).values();
+        return collect(distinct(slots.iterator()), limit);
+    }
+
+    @Override
+    public long changeVersion() {
+        return changes.version();
+    }
+
+    @Override
+    public List<Mission> findChangedSince(long changeVersion) {
+        List<Slot> changed = changes.changedSince(changeVersion);
+        List<Mission> missions = new ArrayList<>(changed.size());
+        for (Slot slot : changed) {
+            missions.add(slot.toMission());
+        }
+        return missions;
+    }
+
+    // status of a mission that is not ended, following its counters
+    static MissionStatus statusOf(int allRocketsCnt, int inRepairCnt) {
+        if (allRocketsCnt > 0) {
+            return inRepairCnt > 0 ? MissionStatus.PENDING : MissionStatus.IN_PROGRESS;
+        }
+        return MissionStatus.SCHEDULED;
+    }
+
+    // slot of the mission, created empty when there is none yet
+    private Slot slotOf(String name) {
+        Slot slot = store.get(name);
+        if (slot == null) {
+            Slot created = new Slot(name);
+            slot = store.putIfAbsent(name, created);
+            if (slot == null) {
+                slot = created;
+            }
+        }
+        return slot;
+    }
+
+    private static List<Mission> collect(Iterator<Slot> slots, int limit) {
+        List<Mission> missions = new ArrayList<>(Math.min(limit, 64));
+        while (missions.size() < limit && slots.hasNext()) {
+            missions.add(slots.next().toMission());
+        }
+        return Collections.unmodifiableList(missions);
+    }
+
+    // a slot moved by a concurrent resort is briefly under its new and its previous key, list it only once
+    private static Iterator<Slot> distinct(Iterator<Slot> slots) {
+        Set<Slot> seen = new HashSet<>();
+        return new Iterator<>() {
+            private Slot next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && slots.hasNext()) {
+                    Slot slot = slots.next();
+                    if (seen.add(slot)) {
+                        next = slot;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Slot next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Slot slot = next;
+                next = null;
+                return slot;
+            }
+        };
+    }
+
+    // called while holding the slot lock. The new key is added before the previous one is removed, so the mission is
+    // always under at least one key.
+    private void resort(Slot slot) {
+        Mission previousKey = slot.sortKey;
+        if (previousKey != null && previousKey.allRocketsCnt() == slot.allRocketsCnt) {
+            return;
+        }
+        Mission key = slot.toMission();
+        sorted.put(key, slot);
+        if (previousKey != null) {
+            sorted.remove(previousKey);
+        }
+        slot.sortKey = key;
+    }
+
+    // also the entry of the mission in the change log
+    private static final class Slot extends ChangeLog.Entry {
+        private final String name;
+        private final ReentrantLock lock = new ReentrantLock();
+        // null until the first save of the mission completes
+        private MissionStatus status;
+        private int allRocketsCnt;
+        private int inSpaceCnt;
+        private int inRepairCnt;
+        private long version;
+        private Mission sortKey;
+
+        private Slot(String name) {
+            this.name = name;
+        }
+
+        private Mission toMission() {
+            lock.lock();
+            try {
+                return status == null ? null : new Mission(name, status, allRocketsCnt, inSpaceCnt, inRepairCnt, version);
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 }
@@ -1,28 +1,333 @@
 package as.space.repository;
 
 import as.space.model.Rocket;
+import as.space.model.RocketStatus;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class InMemoryRocketRepository implements RocketRepository {
 
-    private final Map<String, Rocket> store = new HashMap<>();
+    // current record of each rocket in the holder that also keeps its place in the change log
+    private final Map<String, StoredRocket> store;
+    // stored records refer to the canonical mission name, so a mission name is kept once however many rockets it has
+    private final NameDictionary missionNames = new NameDictionary();
+    // mission id -> rockets of that mission sorted by name, unassigned rockets are kept separately. Missions are
+    // never removed, so an entry stays once created and is only replaced by a larger array under the lock.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private volatile NavigableMap<String, Rocket>[] missionIndex = new NavigableMap[16];
+    // replaced only by load
+    private NavigableMap<String, Rocket> unassigned = new ConcurrentSkipListMap<>();
+    private final ReentrantLock missionIndexLock = new ReentrantLock();
+    // status ordinal -> rockets with that status sorted by name, with their count kept alongside
+    private final NavigableMap<String, Rocket>[] statusIndex = createStatusIndex();
+    private final AtomicIntegerArray statusCounts = new AtomicIntegerArray(RocketStatus.values().length);
+    private final ChangeLog<StoredRocket> changes = new ChangeLog<>();
+
+    public InMemoryRocketRepository() {
+        this.store = new ConcurrentHashMap<>();
+    }
+
+    // sizes the store upfront, used when a large fleet is loaded at once
+    public InMemoryRocketRepository(int expectedRockets) {
+        this.store = new ConcurrentHashMap<>(expectedRockets);
+    }
 
     @Override
     public void save(Rocket rocket) {
-        store.put(rocket.name(), rocket);
+        // compute serializes saves of the same rocket, which keeps the index in line with the store
+        Rocket stored = withCanonicalMission(rocket);
+        StoredRocket entry = store.compute(stored.name(), (name, previous) -> {
+            StoredRocket target = previous != null ? previous : new StoredRocket();
+            target.rocket = replace(previous != null ? previous.rocket : null, stored);
+            return target;
+        });
+        changes.record(stored.name(), entry);
+    }
+
+    @Override
+    public void saveAll(Collection<Rocket> rockets) {
+        for (Rocket rocket : rockets) {
+            save(rocket);
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Rocket rocket) {
+        Rocket stored = withCanonicalMission(rocket);
+        StoredRocket created = new StoredRocket();
+        StoredRocket entry = store.computeIfAbsent(stored.name(), name -> {
+            created.rocket = replace(null, stored);
+            return created;
+        });
+        if (entry != created) {
+            return false;
+        }
+        changes.record(stored.name(), entry);
+        return true;
+    }
+
+    // fills the store and builds each index in one pass from the rockets sorted by name, the order the indexes keep
+    // them in, instead of inserting the rockets one by one
+    @Override
+    public void load(List<Rocket> rockets) {
+        if (!store.isEmpty()) {
+            throw new IllegalStateException("Rockets can only be loaded into an empty repository.");
+        }
+        List<StoredRocket> entries = new ArrayList<>(rockets.size());
+        List<Rocket> inNameOrder = new ArrayList<>(rockets.size());
+        for (Rocket rocket : rockets) {
+            StoredRocket entry = new StoredRocket();
+            entry.rocket = withCanonicalMission(rocket);
+            if (store.putIfAbsent(rocket.name(), entry) != null) {
+                throw new IllegalArgumentException("Rocket '" + rocket.name() + "' is loaded more than once.");
+            }
+            entries.add(entry);
+            inNameOrder.add(entry.rocket);
+        }
+        if (!isSortedByName(inNameOrder)) {
+            inNameOrder.sort(Comparator.comparing(Rocket::name));
+        }
+
+        List<Rocket> unassignedRockets = new ArrayList<>();
+        List<List<Rocket>> rocketsByMission = new ArrayList<>();
+        List<List<Rocket>> rocketsByStatus = new ArrayList<>();
+        for (int status = 0; status < statusIndex.length; status++) {
+            rocketsByStatus.add(new ArrayList<>());
+        }
+        for (Rocket rocket : inNameOrder) {
+            if (rocket.mission() == null) {
+                unassignedRockets.add(rocket);
+            } else {
+                int missionId = missionNames.idOf(rocket.mission());
+                while (rocketsByMission.size() <= missionId) {
+                    rocketsByMission.add(null);
+                }
+                if (rocketsByMission.get(missionId) == null) {
+                    rocketsByMission.set(missionId, new ArrayList<>());
+                }
+                rocketsByMission.get(missionId).add(rocket);
+            }
+            rocketsByStatus.get(rocket.status().ordinal()).add(rocket);
+        }
+        unassigned = new ConcurrentSkipListMap<>(new SortedRockets(unassignedRockets));
+        for (int status = 0; status < statusIndex.length; status++) {
+            statusIndex[status] = new ConcurrentSkipListMap<>(new SortedRockets(rocketsByStatus.get(status)));
+            statusCounts.set(status, rocketsByStatus.get(status).size());
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NavigableMap<String, Rocket>[] index = new NavigableMap[Math.max(16, rocketsByMission.size())];
+        for (int missionId = 0; missionId < rocketsByMission.size(); missionId++) {
+            if (rocketsByMission.get(missionId) != null) {
+                index[missionId] = new ConcurrentSkipListMap<>(new SortedRockets(rocketsByMission.get(missionId)));
+            }
+        }
+        missionIndex = index;
+        changes.recordAll(entries, entry -> entry.rocket.name());
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+        Rocket stored = withCanonicalMission(rocket);
+        boolean[] saved = new boolean[1];
+        StoredRocket entry = store.computeIfPresent(stored.name(), (name, previous) -> {
+            if (previous.rocket.version() == expectedVersion) {
+                previous.rocket = replace(previous.rocket, stored);
+                saved[0] = true;
+            }
+            return previous;
+        });
+        if (!saved[0]) {
+            return false;
+        }
+        changes.record(stored.name(), entry);
+        return true;
+    }
+
+    @Override
+    public boolean compareAndSetStatus(String name, RocketStatus expectedStatus, String expectedMission, RocketStatus status, String mission) {
+        // records are immutable, so the update is a new record saved with compareAndSave
+        while (true) {
+            Rocket rocket = find(name);
+            if (rocket == null || rocket.status() != expectedStatus || !Objects.equals(rocket.mission(), expectedMission)) {
+                return false;
+            }
+            if (compareAndSave(rocket.version(), new Rocket(name, status, mission, rocket.version() + 1))) {
+                return true;
+            }
+        }
     }
 
     @Override
     public Optional<Rocket> findByName(String name) {
-        return Optional.ofNullable(store.get(name));
+        return Optional.ofNullable(find(name));
+    }
+
+    @Override
+    public RocketStatus findStatus(String name) {
+        Rocket rocket = find(name);
+        return rocket == null ? null : rocket.status();
+    }
+
+    @Override
+    public String findMission(String name) {
+        Rocket rocket = find(name);
+        return rocket == null ? null : rocket.mission();
+    }
+
+    @Override
+    public List<Rocket> findAllByName(Collection<String> names) {
+        List<Rocket> rockets = new ArrayList<>(names.size());
+        for (String name : names) {
+            Rocket rocket = find(name);
+            if (rocket != null) {
+                rockets.add(rocket);
+            }
+        }
+        return rockets;
+    }
+
+    @Override
+    public List<Rocket> findAll() {
+        List<Rocket> rockets = new ArrayList<>(store.size());
+        for (StoredRocket entry : store.values()) {
+            rockets.add(entry.rocket);
+        }
+        return Collections.unmodifiableList(rockets);
     }
 
     @Override
     public List<Rocket> findByMission(String mission) {
-        return store.values().stream()
-                .filter(el -> Objects.equals(el.mission(), mission))
-                .sorted(Comparator.comparing(Rocket::name))
-                .toList();
+        if (mission == null) {
+            return List.copyOf(unassigned.values());
+        }
+        int missionId = missionNames.find(mission);
+        NavigableMap<String, Rocket>[] index = missionIndex;
+        if (missionId == NameDictionary.NOT_FOUND || missionId >= index.length || index[missionId] == null) {
+            return List.of();
+        }
+        return List.copyOf(index[missionId].values());
+    }
+
+    @Override
+    public List<Rocket> findByStatus(RocketStatus status) {
+        return List.copyOf(statusIndex[status.ordinal()].values());
+    }
+
+    @Override
+    public int countByStatus(RocketStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    @Override
+    public long changeVersion() {
+        return changes.version();
+    }
+
+    @Override
+    public List<Rocket> findChangedSince(long changeVersion) {
+        List<StoredRocket> changed = changes.changedSince(changeVersion);
+        List<Rocket> rockets = new ArrayList<>(changed.size());
+        for (StoredRocket entry : changed) {
+            rockets.add(entry.rocket);
+        }
+        return rockets;
+    }
+
+    private static boolean isSortedByName(List<Rocket> rockets) {
+        for (int i = 1; i < rockets.size(); i++) {
+            if (rockets.get(i - 1).name().compareTo(rockets.get(i).name()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Rocket find(String name) {
+        StoredRocket entry = store.get(name);
+        return entry == null ? null : entry.rocket;
+    }
+
+    // the given record is kept when it already refers to the canonical name, which is the case for records read back
+    private Rocket withCanonicalMission(Rocket rocket) {
+        if (rocket.mission() == null) {
+            return rocket;
+        }
+        String mission = missionNames.nameOf(missionNames.idOf(rocket.mission()));
+        return mission == rocket.mission() ? rocket : new Rocket(rocket.name(), rocket.status(), mission, rocket.version());
+    }
+
+    private Rocket replace(Rocket previous, Rocket rocket) {
+        addToMissionIndex(rocket);
+        if (previous != null && !Objects.equals(previous.mission(), rocket.mission())) {
+            removeFromMissionIndex(previous);
+        }
+        statusIndex[rocket.status().ordinal()].put(rocket.name(), rocket);
+        if (previous == null || previous.status() != rocket.status()) {
+            statusCounts.incrementAndGet(rocket.status().ordinal());
+            if (previous != null) {
+                statusIndex[previous.status().ordinal()].remove(previous.name());
+                statusCounts.decrementAndGet(previous.status().ordinal());
+            }
+        }
+        return rocket;
+    }
+
+    private void addToMissionIndex(Rocket rocket) {
+        if (rocket.mission() == null) {
+            unassigned.put(rocket.name(), rocket);
+            return;
+        }
+        missionRockets(missionNames.idOf(rocket.mission())).put(rocket.name(), rocket);
+    }
+
+    private void removeFromMissionIndex(Rocket rocket) {
+        if (rocket.mission() == null) {
+            unassigned.remove(rocket.name());
+            return;
+        }
+        missionRockets(missionNames.idOf(rocket.mission())).remove(rocket.name());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static NavigableMap<String, Rocket>[] createStatusIndex() {
+        NavigableMap<String, Rocket>[] index = new NavigableMap[RocketStatus.values().length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = new ConcurrentSkipListMap<>();
+        }
+        return index;
+    }
+
+    private NavigableMap<String, Rocket> missionRockets(int missionId) {
+        NavigableMap<String, Rocket>[] index = missionIndex;
+        if (missionId < index.length && index[missionId] != null) {
+            return index[missionId];
+        }
+        return createMissionRockets(missionId);
+    }
+
+    private NavigableMap<String, Rocket> createMissionRockets(int missionId) {
+        missionIndexLock.lock();
+        try {
+            NavigableMap<String, Rocket>[] index = missionIndex;
+            if (missionId >= index.length) {
+                index = Arrays.copyOf(index, Math.max(index.length * 2, missionId + 1));
+            }
+            if (index[missionId] == null) {
+                index[missionId] = new ConcurrentSkipListMap<>();
+            }
+            missionIndex = index;
+            return index[missionId];
+        } finally {
+            missionIndexLock.unlock();
+        }
+    }
+
+    // set inside compute of the store, so saves of the same rocket replace it one after the other
+    private static final class StoredRocket extends ChangeLog.Entry {
+        private volatile Rocket rocket;
     }
 }
@@ -0,0 +1,219 @@
+package as.space.repository;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Append-only file of length prefixed, checksummed entries. Entries appended by concurrent writers are flushed and
+// synced together by whichever writer gets to commit first (group commit).
+class Journal implements Closeable {
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final int ENTRY_OVERHEAD = 2 * Integer.BYTES;
+
+    private final Path file;
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+
+    // guarded by bufferLock
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedSequence;
+    // guarded by commitLock, replaced when the journal is rewritten
+    private FileChannel channel;
+    private ByteBuffer committing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private volatile long durableSequence;
+    private volatile IOException failure;
+
+    Journal(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // reads all complete entries and returns their number, a torn entry left by a crash and anything after it is
+    // truncated
+    long replay(Consumer<byte[]> entryConsumer) throws IOException {
+        long entries = 0;
+        long validLength = 0;
+        channel.position(0);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        try {
+            while (true) {
+                int length = input.readInt();
+                if (length < 0 || validLength + ENTRY_OVERHEAD + length > channel.size()) {
+                    break;
+                }
+                byte[] entry = new byte[length];
+                input.readFully(entry);
+                checksum.reset();
+                checksum.update(entry);
+                if (input.readInt() != (int) checksum.getValue()) {
+                    break;
+                }
+                entryConsumer.accept(entry);
+                entries++;
+                validLength += ENTRY_OVERHEAD + length;
+            }
+        } catch (EOFException e) {
+            // end of journal
+        }
+        channel.truncate(validLength);
+        channel.position(validLength);
+        return entries;
+    }
+
+    long append(byte[] entry) {
+        bufferLock.lock();
+        try {
+            ensureCapacity(ENTRY_OVERHEAD + entry.length);
+            put(pending, entry, checksum);
+            return ++appendedSequence;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // replaces the whole journal with the given entries, the caller makes sure nothing is appended meanwhile. The new
+    // journal is written and synced next to the old one and then moved over it, so a crash leaves one of the two.
+    void rewrite(Iterable<byte[]> entries) throws IOException {
+        commitLock.lock();
+        try {
+            checkFailure();
+            Path rewritten = file.resolveSibling(file.getFileName() + ".rewrite");
+            try (FileChannel target = FileChannel.open(rewritten, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+                CRC32C entryChecksum = new CRC32C();
+                for (byte[] entry : entries) {
+                    if (buffer.remaining() < ENTRY_OVERHEAD + entry.length) {
+                        writeFully(target, buffer);
+                        if (buffer.capacity() < ENTRY_OVERHEAD + entry.length) {
+                            buffer = ByteBuffer.allocate(ENTRY_OVERHEAD + entry.length);
+                        }
+                    }
+                    put(buffer, entry, entryChecksum);
+                }
+                writeFully(target, buffer);
+                target.force(false);
+            } catch (IOException e) {
+                Files.deleteIfExists(rewritten);
+                throw e;
+            }
+            Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                channel.close();
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+                // entries appended from now on go to the new journal, which has to survive a power loss as well
+                syncDirectory(file);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    void awaitDurable(long sequence) throws IOException {
+        checkFailure();
+        if (durableSequence >= sequence) {
+            return;
+        }
+        commitLock.lock();
+        try {
+            checkFailure();
+            if (durableSequence >= sequence) {
+                // committed together with the entries of another writer
+                return;
+            }
+            long committedSequence;
+            bufferLock.lock();
+            try {
+                ByteBuffer appended = pending;
+                pending = committing;
+                committing = appended;
+                committedSequence = appendedSequence;
+            } finally {
+                bufferLock.unlock();
+            }
+            try {
+                writeFully(channel, committing);
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                committing.clear();
+            }
+            durableSequence = committedSequence;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        bufferLock.lock();
+        long lastSequence;
+        try {
+            lastSequence = appendedSequence;
+        } finally {
+            bufferLock.unlock();
+        }
+        try {
+            awaitDurable(lastSequence);
+        } finally {
+            commitLock.lock();
+            try {
+                channel.close();
+            } finally {
+                commitLock.unlock();
+            }
+        }
+    }
+
+    // syncs the directory of the file, a file moved into it is there after a power loss only once this returns
+    static void syncDirectory(Path file) throws IOException {
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    private static void put(ByteBuffer buffer, byte[] entry, CRC32C checksum) {
+        checksum.reset();
+        checksum.update(entry);
+        buffer.putInt(entry.length).put(entry).putInt((int) checksum.getValue());
+    }
+
+    // writes what the buffer holds and clears it
+    private static void writeFully(FileChannel target, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureCapacity(int size) {
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal is not writable after a failed commit.", failure);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package as.space.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Journaled rocket and mission repositories opened together. An operation that changes a mission and its rockets
+// writes to the two journals one after the other, so a crash between the writes leaves them out of line: counters
+// reserved for an assignment that was never journaled, or rockets still assigned to a mission that ended. On open the
+// missions are brought back in line with the rockets, as FleetSnapshot.write does, and the corrections are journaled.
+public final class JournaledFleet implements Closeable {
+    private final JournaledRocketRepository rockets;
+    private final JournaledMissionRepository missions;
+
+    private JournaledFleet(JournaledRocketRepository rockets, JournaledMissionRepository missions) {
+        this.rockets = rockets;
+        this.missions = missions;
+    }
+
+    public static JournaledFleet open(Path rocketJournal, Path missionJournal) throws IOException {
+        JournaledRocketRepository rockets = new JournaledRocketRepository(rocketJournal);
+        try {
+            JournaledMissionRepository missions = new JournaledMissionRepository(missionJournal);
+            try {
+                reconcile(rockets, missions);
+                return new JournaledFleet(rockets, missions);
+            } catch (IOException | RuntimeException e) {
+                missions.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            rockets.close();
+            throw e;
+        }
+    }
+
+    public JournaledRocketRepository rockets() {
+        return rockets;
+    }
+
+    public JournaledMissionRepository missions() {
+        return missions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            rockets.close();
+        } finally {
+            missions.close();
+        }
+    }
+
+    // rockets are released first, a crash before the missions are recounted leaves them to the next open
+    private static void reconcile(JournaledRocketRepository rockets, JournaledMissionRepository missions) throws IOException {
+        Assignments assignments = new Assignments(rockets.findAll(), missions.getAllSorted());
+        rockets.saveAll(assignments.released());
+        missions.saveAll(assignments.miscounted());
+    }
+}
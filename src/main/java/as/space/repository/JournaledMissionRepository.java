@@ -0,0 +1,195 @@
+package as.space.repository;
+
+import as.space.model.Mission;
+import as.space.model.MissionCursor;
+import as.space.model.MissionStatus;
+import as.space.model.MissionTransition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+// Keeps missions in memory and appends every change to a journal file, which is replayed on startup.
+// A change is applied in memory only once its journal entry is synced to disk, so nothing a crash can lose is ever read.
+// compact rewrites the journal to one entry per mission, which keeps replay in proportion to the missions.
+public class JournaledMissionRepository implements MissionRepository, Closeable {
+    private static final int LOCK_STRIPES = 64;
+    // the journal is compacted on startup when it has more entries than this per stored mission
+    private static final int COMPACTION_RATIO = 2;
+
+    private final MissionRepository store = new InMemoryMissionRepository();
+    // a change is checked, journaled, synced and applied under the lock of its stripe, so changes of the same mission
+    // are journaled in the order they are applied
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    // shared by writers, compact takes it exclusively so nothing is appended while the journal is rewritten
+    private final ReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    private final Journal journal;
+
+    public JournaledMissionRepository(Path journalFile) throws IOException {
+        journal = new Journal(journalFile);
+        try {
+            long entries = journal.replay(entry -> store.save(RecordCodec.decodeMission(entry)));
+            if (entries > (long) COMPACTION_RATIO * store.getAllSorted().size()) {
+                compact();
+            }
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    // starts from the missions of the snapshot, which are written to the journal as its first entries. Only a journal
+    // without entries can be seeded, after that the repository is opened from the journal alone.
+    public JournaledMissionRepository(Path journalFile, FleetSnapshot snapshot) throws IOException {
+        journal = new Journal(journalFile);
+        try {
+            if (journal.replay(entry -> { }) > 0) {
+                throw new IOException("Journal '" + journalFile + "' already has entries, a snapshot can only seed an empty journal.");
+            }
+            snapshot.loadMissionsInto(store);
+            compact();
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void save(Mission mission) {
+        journalAndStore(mission.name(), current -> mission);
+    }
+
+    @Override
+    public void saveAll(Collection<Mission> missions) {
+        List<Lock> stripes = locks.getAll(missions.stream().map(Mission::name).toList());
+        Lock writeLock = compactionLock.readLock();
+        writeLock.lock();
+        stripes.forEach(Lock::lock);
+        try {
+            long sequence = 0;
+            for (Mission mission : missions) {
+                sequence = journal.append(RecordCodec.encode(mission));
+            }
+            awaitDurable(sequence);
+            store.saveAll(missions);
+        } finally {
+            stripes.forEach(Lock::unlock);
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Mission mission) {
+        return journalAndStore(mission.name(), current -> current == null ? mission : null) != null;
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Mission mission) {
+        return journalAndStore(mission.name(), current ->
+                current != null && current.version() == expectedVersion ? mission : null) != null;
+    }
+
+    @Override
+    public MissionTransition updateCounters(String name, int changeAllRockets, int changeInSpace, int changeInRepair) {
+        MissionStatus[] previousStatus = new MissionStatus[1];
+        Mission updated = journalAndStore(name, current -> {
+            if (current == null || current.status() == MissionStatus.ENDED) {
+                return null;
+            }
+            previousStatus[0] = current.status();
+            int allRocketsCnt = current.allRocketsCnt() + changeAllRockets;
+            int inRepairCnt = current.inRepairCnt() + changeInRepair;
+            return new Mission(name, InMemoryMissionRepository.statusOf(allRocketsCnt, inRepairCnt), allRocketsCnt,
+                    current.inSpaceCnt() + changeInSpace, inRepairCnt, current.version() + 1);
+        });
+        return updated == null ? null : MissionTransition.of(previousStatus[0], updated.status());
+    }
+
+    // rewrites the journal to the current record of every mission, writes wait meanwhile but reads do not
+    public void compact() throws IOException {
+        Lock exclusiveLock = compactionLock.writeLock();
+        exclusiveLock.lock();
+        try {
+            List<Mission> missions = store.getAllSorted();
+            journal.rewrite(() -> missions.stream().map(RecordCodec::encode).iterator());
+        } finally {
+            exclusiveLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Mission> findByName(String name) {
+        return store.findByName(name);
+    }
+
+    @Override
+    public List<Mission> findAllByName(Collection<String> names) {
+        return store.findAllByName(names);
+    }
+
+    @Override
+    public List<Mission> getAllSorted() {
+        return store.getAllSorted();
+    }
+
+    @Override
+    public List<Mission> getSorted(int offset, int limit) {
+        return store.getSorted(offset, limit);
+    }
+
+    @Override
+    public List<Mission> getSortedAfter(MissionCursor cursor, int limit) {
+        return store.getSortedAfter(cursor, limit);
+    }
+
+    @Override
+    public long changeVersion() {
+        return store.changeVersion();
+    }
+
+    @Override
+    public List<Mission> findChangedSince(long changeVersion) {
+        return store.findChangedSince(changeVersion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // the change gets the stored record, null when there is none, and returns the record to save or null to save
+    // nothing. Returns the saved record.
+    private Mission journalAndStore(String name, UnaryOperator<Mission> change) {
+        Lock writeLock = compactionLock.readLock();
+        Lock lock = locks.get(name);
+        writeLock.lock();
+        lock.lock();
+        try {
+            Mission mission = change.apply(store.findByName(name).orElse(null));
+            if (mission != null) {
+                awaitDurable(journal.append(RecordCodec.encode(mission)));
+                store.save(mission);
+            }
+            return mission;
+        } finally {
+            lock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        try {
+            journal.awaitDurable(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package as.space.repository;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+// Keeps rockets in memory and appends every change to a journal file, which is replayed on startup.
+// A change is applied in memory only once its journal entry is synced to disk, so nothing a crash can lose is ever read.
+// compact rewrites the journal to one entry per rocket, which keeps replay in proportion to the fleet.
+public class JournaledRocketRepository implements RocketRepository, Closeable {
+    private static final int LOCK_STRIPES = 64;
+    // the journal is compacted on startup when it has more entries than this per stored rocket
+    private static final int COMPACTION_RATIO = 2;
+
+    private final RocketRepository store = new InMemoryRocketRepository();
+    // a change is checked, journaled, synced and applied under the lock of its stripe, so changes of the same rocket are
+    // journaled in the order they are applied
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    // shared by writers, compact takes it exclusively so nothing is appended while the journal is rewritten
+    private final ReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    private final Journal journal;
+
+    public JournaledRocketRepository(Path journalFile) throws IOException {
+        journal = new Journal(journalFile);
+        try {
+            long entries = journal.replay(entry -> store.save(RecordCodec.decodeRocket(entry)));
+            if (entries > (long) COMPACTION_RATIO * storedRockets()) {
+                compact();
+            }
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    // starts from the rockets of the snapshot, which are written to the journal as its first entries. Only a journal
+    // without entries can be seeded, after that the repository is opened from the journal alone.
+    public JournaledRocketRepository(Path journalFile, FleetSnapshot snapshot) throws IOException {
+        journal = new Journal(journalFile);
+        try {
+            if (journal.replay(entry -> { }) > 0) {
+                throw new IOException("Journal '" + journalFile + "' already has entries, a snapshot can only seed an empty journal.");
+            }
+            snapshot.loadRocketsInto(store);
+            compact();
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void save(Rocket rocket) {
+        journalAndStore(rocket.name(), current -> rocket);
+    }
+
+    @Override
+    public void saveAll(Collection<Rocket> rockets) {
+        List<Lock> stripes = locks.getAll(rockets.stream().map(Rocket::name).toList());
+        Lock writeLock = compactionLock.readLock();
+        writeLock.lock();
+        stripes.forEach(Lock::lock);
+        try {
+            long sequence = 0;
+            for (Rocket rocket : rockets) {
+                sequence = journal.append(RecordCodec.encode(rocket));
+            }
+            awaitDurable(sequence);
+            store.saveAll(rockets);
+        } finally {
+            stripes.forEach(Lock::unlock);
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Rocket rocket) {
+        return journalAndStore(rocket.name(), current -> current == null ? rocket : null);
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+        return journalAndStore(rocket.name(), current ->
+                current != null && current.version() == expectedVersion ? rocket : null);
+    }
+
+    @Override
+    public boolean compareAndSetStatus(String name, RocketStatus expectedStatus, String expectedMission, RocketStatus status, String mission) {
+        return journalAndStore(name, current ->
+                current != null && current.status() == expectedStatus && Objects.equals(current.mission(), expectedMission)
+                        ? new Rocket(name, status, mission, current.version() + 1) : null);
+    }
+
+    // rewrites the journal to the current record of every rocket, writes wait meanwhile but reads do not
+    public void compact() throws IOException {
+        Lock exclusiveLock = compactionLock.writeLock();
+        exclusiveLock.lock();
+        try {
+            List<Rocket> rockets = store.findAll();
+            journal.rewrite(() -> rockets.stream().map(RecordCodec::encode).iterator());
+        } finally {
+            exclusiveLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Rocket> findByName(String name) {
+        return store.findByName(name);
+    }
+
+    @Override
+    public RocketStatus findStatus(String name) {
+        return store.findStatus(name);
+    }
+
+    @Override
+    public String findMission(String name) {
+        return store.findMission(name);
+    }
+
+    @Override
+    public List<Rocket> findAllByName(Collection<String> names) {
+        return store.findAllByName(names);
+    }
+
+    @Override
+    public List<Rocket> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public List<Rocket> findByMission(String mission) {
+        return store.findByMission(mission);
+    }
+
+    @Override
+    public List<Rocket> findByStatus(RocketStatus status) {
+        return store.findByStatus(status);
+    }
+
+    @Override
+    public int countByStatus(RocketStatus status) {
+        return store.countByStatus(status);
+    }
+
+    @Override
+    public long changeVersion() {
+        return store.changeVersion();
+    }
+
+    @Override
+    public List<Rocket> findChangedSince(long changeVersion) {
+        return store.findChangedSince(changeVersion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // the change gets the stored record, null when there is none, and returns the record to save or null to save nothing
+    private boolean journalAndStore(String name, UnaryOperator<Rocket> change) {
+        Lock writeLock = compactionLock.readLock();
+        Lock lock = locks.get(name);
+        writeLock.lock();
+        lock.lock();
+        try {
+            Rocket rocket = change.apply(store.findByName(name).orElse(null));
+            if (rocket == null) {
+                return false;
+            }
+            awaitDurable(journal.append(RecordCodec.encode(rocket)));
+            store.save(rocket);
+            return true;
+        } finally {
+            lock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    private int storedRockets() {
+        int rockets = 0;
+        for (RocketStatus status : RocketStatus.values()) {
+            rockets += store.countByStatus(status);
+        }
+        return rockets;
+    }
+
+    private void awaitDurable(long sequence) {
+        try {
+            journal.awaitDurable(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
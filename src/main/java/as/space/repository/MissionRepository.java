@@ -1,14 +1,44 @@
 package as.space.repository;
 
 import as.space.model.Mission;
+import as.space.model.MissionCursor;
+import as.space.model.MissionTransition;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MissionRepository {
     void save(Mission mission);
 
+    void saveAll(Collection<Mission> missions);
+
+    // saves the mission only if no mission with its name is stored, of concurrent calls for one name exactly one wins
+    boolean saveIfAbsent(Mission mission);
+
+    // saves the mission only if the stored record exists and still has the expected version
+    boolean compareAndSave(long expectedVersion, Mission mission);
+
+    // applies the counter changes to the stored mission in place and derives its status from them, null when the
+    // mission does not exist or has ended
+    MissionTransition updateCounters(String name, int changeAllRockets, int changeInSpace, int changeInRepair);
+
     Optional<Mission> findByName(String name);
 
+    // missions that exist, in the order of the given names
+    List<Mission> findAllByName(Collection<String> names);
+
     List<Mission> getAllSorted();
+
+    // at most limit missions in the order of getAllSorted, starting at the given position
+    List<Mission> getSorted(int offset, int limit);
+
+    // at most limit missions in the order of getAllSorted that come after the cursor, from the start when it is null
+    List<Mission> getSortedAfter(MissionCursor cursor, int limit);
+
+    // incremented by every change of a stored mission, starts at 0
+    long changeVersion();
+
+    // current records of the missions changed after the given change version, in the order of their last change
+    List<Mission> findChangedSince(long changeVersion);
 }
@@ -0,0 +1,52 @@
+package as.space.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Maps names to dense int ids and keeps one canonical String per name, so records referring to the same name share
+// a single instance no matter where the name came from. Ids are never released.
+final class NameDictionary {
+    static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock registerLock = new ReentrantLock();
+    private volatile String[] names = new String[16];
+    private int size;
+
+    int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    int find(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    String nameOf(int id) {
+        return names[id];
+    }
+
+    private int register(String name) {
+        registerLock.lock();
+        try {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = name;
+            // published before the id, so a reader that got the id always finds the name
+            names = current;
+            ids.put(name, size);
+            return size++;
+        } finally {
+            registerLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,596 @@
+package as.space.repository;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps every rocket in a fixed-width slot of direct memory, together with the name lookup table, so the heap does not
+// grow with the fleet. Slots are allocated in chunks that are never moved. Rocket records are created only when read.
+// Rockets of the same mission are linked through their slots, like in ColumnarRocketRepository. Rockets of the same
+// status, and all rockets in the order of their last change, are linked through parallel link chunks, as the name
+// already fills the slot. As there, mission and status lists are unordered and listing sorts what it walks.
+//
+// slot: name hash int, status byte, name length byte, mission id int, next int, previous int, version long, name bytes
+// link: next in status int, previous in status int, next changed int, previous changed int, change version long
+public class OffHeapRocketRepository implements RocketRepository {
+    public static final int MAX_NAME_BYTES = 100;
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+    private static final Comparator<Rocket> BY_NAME = Comparator.comparing(Rocket::name);
+    private static final int NONE = -1;
+    private static final int UNKNOWN_MISSION = -2;
+    private static final int HASH = 0;
+    private static final int STATUS = 4;
+    private static final int NAME_LENGTH = 5;
+    private static final int MISSION = 6;
+    private static final int NEXT = 10;
+    private static final int PREVIOUS = 14;
+    private static final int VERSION = 18;
+    private static final int NAME = 26;
+    private static final int SLOT_SIZE = 128;
+    private static final int NEXT_IN_STATUS = 0;
+    private static final int PREVIOUS_IN_STATUS = 4;
+    private static final int NEXT_CHANGED = 8;
+    private static final int PREVIOUS_CHANGED = 12;
+    private static final int CHANGE_VERSION = 16;
+    private static final int LINK_SIZE = 24;
+    private static final int CHUNK_BITS = 13;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_BITS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameDictionary missionNames = new NameDictionary();
+
+    private ByteBuffer[] chunks = new ByteBuffer[16];
+    private ByteBuffer[] linkChunks = new ByteBuffer[16];
+    // status ordinal -> first rocket with that status
+    private final int[] statusHeads = new int[STATUSES.length];
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int lastChanged = NONE;
+    private long changeVersion;
+    // mission id + 1 -> first rocket of the mission, unassigned rockets are linked from slot 0
+    private int[] missionHeads = new int[16];
+    // open addressing by name hash, holds rocket id + 1 and 0 for a free slot
+    private IntBuffer table = ByteBuffer.allocateDirect(CHUNK_SLOTS * 2 * Integer.BYTES).asIntBuffer();
+    private int size;
+
+    public OffHeapRocketRepository() {
+        Arrays.fill(missionHeads, NONE);
+        Arrays.fill(statusHeads, NONE);
+    }
+
+    @Override
+    public void save(Rocket rocket) {
+        byte[] name = encodeName(rocket.name());
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            put(rocket, name);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Rocket> rockets) {
+        // encoded before anything is saved, so a name that cannot be stored fails the whole batch
+        List<byte[]> names = new ArrayList<>(rockets.size());
+        for (Rocket rocket : rockets) {
+            names.add(encodeName(rocket.name()));
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Iterator<byte[]> name = names.iterator();
+            for (Rocket rocket : rockets) {
+                put(rocket, name.next());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Rocket rocket) {
+        byte[] name = encodeName(rocket.name());
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (idOf(rocket.name()) != NONE) {
+                return false;
+            }
+            put(rocket, name);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int id = idOf(rocket.name());
+            if (id == NONE || chunk(id).getLong(offset(id) + VERSION) != expectedVersion) {
+                return false;
+            }
+            update(id, rocket);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSetStatus(String name, RocketStatus expectedStatus, String expectedMission, RocketStatus status, String mission) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int id = idOf(name);
+            if (id == NONE) {
+                return false;
+            }
+            ByteBuffer chunk = chunk(id);
+            int offset = offset(id);
+            if (chunk.get(offset + STATUS) != expectedStatus.ordinal()
+                    || chunk.getInt(offset + MISSION) != findMissionId(expectedMission)) {
+                return false;
+            }
+            int missionId = missionId(mission);
+            if (missionId != chunk.getInt(offset + MISSION)) {
+                unlink(id);
+                chunk.putInt(offset + MISSION, missionId);
+                link(id);
+            }
+            setStatus(id, status);
+            chunk.putLong(offset + VERSION, chunk.getLong(offset + VERSION) + 1);
+            recordChange(id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public RocketStatus findStatus(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            return id == NONE ? null : STATUSES[chunk(id).get(offset(id) + STATUS)];
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public String findMission(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            int mission = id == NONE ? NONE : chunk(id).getInt(offset(id) + MISSION);
+            return mission == NONE ? null : missionNames.nameOf(mission);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Rocket> findByName(String name) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int id = idOf(name);
+            return id == NONE ? Optional.empty() : Optional.of(rocketAt(id, name));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findAllByName(Collection<String> names) {
+        List<Rocket> rockets = new ArrayList<>(names.size());
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (String name : names) {
+                int id = idOf(name);
+                if (id != NONE) {
+                    rockets.add(rocketAt(id, name));
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return rockets;
+    }
+
+    @Override
+    public List<Rocket> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Rocket> rockets = new ArrayList<>(size);
+            for (int id = 0; id < size; id++) {
+                rockets.add(rocketAt(id, nameAt(id)));
+            }
+            return Collections.unmodifiableList(rockets);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findByMission(String mission) {
+        List<Rocket> rockets = new ArrayList<>();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int missionId = NONE;
+            if (mission != null) {
+                missionId = missionNames.find(mission);
+                if (missionId == NameDictionary.NOT_FOUND) {
+                    return List.of();
+                }
+            }
+            int slot = missionId + 1;
+            int id = slot < missionHeads.length ? missionHeads[slot] : NONE;
+            while (id != NONE) {
+                rockets.add(rocketAt(id, nameAt(id)));
+                id = chunk(id).getInt(offset(id) + NEXT);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        rockets.sort(BY_NAME);
+        return Collections.unmodifiableList(rockets);
+    }
+
+    @Override
+    public List<Rocket> findByStatus(RocketStatus status) {
+        List<Rocket> rockets;
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            rockets = new ArrayList<>(statusCounts[status.ordinal()]);
+            for (int id = statusHeads[status.ordinal()]; id != NONE; id = links(id).getInt(linkOffset(id) + NEXT_IN_STATUS)) {
+                rockets.add(rocketAt(id, nameAt(id)));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        rockets.sort(BY_NAME);
+        return Collections.unmodifiableList(rockets);
+    }
+
+    @Override
+    public int countByStatus(RocketStatus status) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return statusCounts[status.ordinal()];
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public long changeVersion() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return changeVersion;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Rocket> findChangedSince(long changeVersion) {
+        List<Rocket> rockets = new ArrayList<>();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (int id = lastChanged; id != NONE && links(id).getLong(linkOffset(id) + CHANGE_VERSION) > changeVersion;
+                 id = links(id).getInt(linkOffset(id) + PREVIOUS_CHANGED)) {
+                rockets.add(rocketAt(id, nameAt(id)));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        Collections.reverse(rockets);
+        return rockets;
+    }
+
+    private String nameAt(int id) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        byte[] name = new byte[chunk.get(offset + NAME_LENGTH)];
+        chunk.get(offset + NAME, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private Rocket rocketAt(int id, String name) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        int mission = chunk.getInt(offset + MISSION);
+        return new Rocket(name, STATUSES[chunk.get(offset + STATUS)], mission == NONE ? null : missionNames.nameOf(mission),
+                chunk.getLong(offset + VERSION));
+    }
+
+    private void put(Rocket rocket, byte[] name) {
+        int hash = rocket.name().hashCode();
+        int id = idOf(rocket.name());
+        if (id != NONE) {
+            update(id, rocket);
+            return;
+        }
+        id = size++;
+        int chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            linkChunks = Arrays.copyOf(linkChunks, chunks.length);
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = ByteBuffer.allocateDirect(CHUNK_SLOTS * SLOT_SIZE);
+            linkChunks[chunkIndex] = ByteBuffer.allocateDirect(CHUNK_SLOTS * LINK_SIZE);
+        }
+        ByteBuffer chunk = chunks[chunkIndex];
+        int offset = offset(id);
+        chunk.putInt(offset + HASH, hash);
+        chunk.put(offset + STATUS, (byte) rocket.status().ordinal());
+        chunk.put(offset + NAME_LENGTH, (byte) name.length);
+        chunk.putInt(offset + MISSION, missionId(rocket.mission()));
+        chunk.putLong(offset + VERSION, rocket.version());
+        chunk.put(offset + NAME, name);
+        link(id);
+        linkStatus(id);
+        appendChanged(id);
+        if (size * 2 > table.capacity()) {
+            rehash(table.capacity() * 2);
+        } else {
+            insert(table, id);
+        }
+    }
+
+    private void update(int id, Rocket rocket) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        int mission = missionId(rocket.mission());
+        if (mission != chunk.getInt(offset + MISSION)) {
+            unlink(id);
+            chunk.putInt(offset + MISSION, mission);
+            link(id);
+        }
+        setStatus(id, rocket.status());
+        chunk.putLong(offset + VERSION, rocket.version());
+        recordChange(id);
+    }
+
+    private void setStatus(int id, RocketStatus status) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        if (chunk.get(offset + STATUS) != status.ordinal()) {
+            unlinkStatus(id);
+            chunk.put(offset + STATUS, (byte) status.ordinal());
+            linkStatus(id);
+        }
+    }
+
+    private int missionId(String mission) {
+        return mission == null ? NONE : missionNames.idOf(mission);
+    }
+
+    // does not register the mission, a mission without an id has no rockets and matches none
+    private int findMissionId(String mission) {
+        if (mission == null) {
+            return NONE;
+        }
+        int missionId = missionNames.find(mission);
+        return missionId == NameDictionary.NOT_FOUND ? UNKNOWN_MISSION : missionId;
+    }
+
+    private void link(int id) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        int slot = chunk.getInt(offset + MISSION) + 1;
+        if (slot >= missionHeads.length) {
+            int length = missionHeads.length;
+            missionHeads = Arrays.copyOf(missionHeads, Math.max(length * 2, slot + 1));
+            Arrays.fill(missionHeads, length, missionHeads.length, NONE);
+        }
+        int head = missionHeads[slot];
+        chunk.putInt(offset + NEXT, head);
+        chunk.putInt(offset + PREVIOUS, NONE);
+        if (head != NONE) {
+            chunk(head).putInt(offset(head) + PREVIOUS, id);
+        }
+        missionHeads[slot] = id;
+    }
+
+    private void unlink(int id) {
+        ByteBuffer chunk = chunk(id);
+        int offset = offset(id);
+        int previous = chunk.getInt(offset + PREVIOUS);
+        int next = chunk.getInt(offset + NEXT);
+        if (previous == NONE) {
+            missionHeads[chunk.getInt(offset + MISSION) + 1] = next;
+        } else {
+            chunk(previous).putInt(offset(previous) + NEXT, next);
+        }
+        if (next != NONE) {
+            chunk(next).putInt(offset(next) + PREVIOUS, previous);
+        }
+    }
+
+    private void linkStatus(int id) {
+        int status = chunk(id).get(offset(id) + STATUS);
+        int head = statusHeads[status];
+        ByteBuffer links = links(id);
+        int offset = linkOffset(id);
+        links.putInt(offset + NEXT_IN_STATUS, head);
+        links.putInt(offset + PREVIOUS_IN_STATUS, NONE);
+        if (head != NONE) {
+            links(head).putInt(linkOffset(head) + PREVIOUS_IN_STATUS, id);
+        }
+        statusHeads[status] = id;
+        statusCounts[status]++;
+    }
+
+    private void unlinkStatus(int id) {
+        int status = chunk(id).get(offset(id) + STATUS);
+        ByteBuffer links = links(id);
+        int offset = linkOffset(id);
+        int previous = links.getInt(offset + PREVIOUS_IN_STATUS);
+        int next = links.getInt(offset + NEXT_IN_STATUS);
+        if (previous == NONE) {
+            statusHeads[status] = next;
+        } else {
+            links(previous).putInt(linkOffset(previous) + NEXT_IN_STATUS, next);
+        }
+        if (next != NONE) {
+            links(next).putInt(linkOffset(next) + PREVIOUS_IN_STATUS, previous);
+        }
+        statusCounts[status]--;
+    }
+
+    // moves the rocket to the end of the change order
+    private void recordChange(int id) {
+        if (id == lastChanged) {
+            links(id).putLong(linkOffset(id) + CHANGE_VERSION, ++changeVersion);
+            return;
+        }
+        ByteBuffer links = links(id);
+        int offset = linkOffset(id);
+        int previous = links.getInt(offset + PREVIOUS_CHANGED);
+        int next = links.getInt(offset + NEXT_CHANGED);
+        if (previous != NONE) {
+            links(previous).putInt(linkOffset(previous) + NEXT_CHANGED, next);
+        }
+        links(next).putInt(linkOffset(next) + PREVIOUS_CHANGED, previous);
+        appendChanged(id);
+    }
+
+    private void appendChanged(int id) {
+        ByteBuffer links = links(id);
+        int offset = linkOffset(id);
+        links.putInt(offset + NEXT_CHANGED, NONE);
+        links.putInt(offset + PREVIOUS_CHANGED, lastChanged);
+        links.putLong(offset + CHANGE_VERSION, ++changeVersion);
+        if (lastChanged != NONE) {
+            links(lastChanged).putInt(linkOffset(lastChanged) + NEXT_CHANGED, id);
+        }
+        lastChanged = id;
+    }
+
+    private int idOf(String name) {
+        int hash = name.hashCode();
+        int mask = table.capacity() - 1;
+        for (int slot = spread(hash) & mask; table.get(slot) != 0; slot = (slot + 1) & mask) {
+            int id = table.get(slot) - 1;
+            if (chunk(id).getInt(offset(id) + HASH) == hash && hasName(id, name)) {
+                return id;
+            }
+        }
+        return NONE;
+    }
+
+    // compares the stored UTF-8 bytes with the name encoded on the fly, so lookups do not allocate
+    private boolean hasName(int id, String name) {
+        ByteBuffer chunk = chunk(id);
+        int position = offset(id) + NAME;
+        int end = position + chunk.get(offset(id) + NAME_LENGTH);
+        for (int i = 0; i < name.length(); i++) {
+            int c = name.charAt(i);
+            if (Character.isHighSurrogate((char) c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, name.charAt(++i));
+            } else if (Character.isSurrogate((char) c)) {
+                // such names are never stored, see encodeName
+                return false;
+            }
+            int length = c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (position + length > end) {
+                return false;
+            }
+            if (length == 1) {
+                if (chunk.get(position++) != c) {
+                    return false;
+                }
+                continue;
+            }
+            int shift = 6 * (length - 1);
+            // leading byte carries the length marker, continuation bytes are 10xxxxxx
+            if (chunk.get(position++) != (byte) ((0xF00 >> length) | (c >> shift))) {
+                return false;
+            }
+            while ((shift -= 6) >= 0) {
+                if (chunk.get(position++) != (byte) (0x80 | ((c >> shift) & 0x3F))) {
+                    return false;
+                }
+            }
+        }
+        return position == end;
+    }
+
+    private void insert(IntBuffer target, int id) {
+        int mask = target.capacity() - 1;
+        int slot = spread(chunk(id).getInt(offset(id) + HASH)) & mask;
+        while (target.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target.put(slot, id + 1);
+    }
+
+    private void rehash(int length) {
+        IntBuffer rehashed = ByteBuffer.allocateDirect(length * Integer.BYTES).asIntBuffer();
+        for (int id = 0; id < size; id++) {
+            insert(rehashed, id);
+        }
+        table = rehashed;
+    }
+
+    private ByteBuffer chunk(int id) {
+        return chunks[id >>> CHUNK_BITS];
+    }
+
+    private static int offset(int id) {
+        return (id & (CHUNK_SLOTS - 1)) * SLOT_SIZE;
+    }
+
+    private ByteBuffer links(int id) {
+        return linkChunks[id >>> CHUNK_BITS];
+    }
+
+    private static int linkOffset(int id) {
+        return (id & (CHUNK_SLOTS - 1)) * LINK_SIZE;
+    }
+
+    // a name with an unpaired surrogate has no UTF-8 form, getBytes would replace it and store a different name
+    private static byte[] encodeName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                throw new IllegalArgumentException("Rocket name '" + name + "' has an unpaired surrogate at index " + i + ".");
+            }
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Rocket name '" + name + "' is longer than " + MAX_NAME_BYTES + " bytes.");
+        }
+        return bytes;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
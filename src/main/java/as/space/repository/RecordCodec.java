@@ -0,0 +1,68 @@
+package as.space.repository;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+
+import java.io.*;
+
+final class RecordCodec {
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+    private RecordCodec() {
+    }
+
+    static byte[] encode(Rocket rocket) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + rocket.name().length());
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(rocket.name());
+            output.writeByte(rocket.status().ordinal());
+            output.writeBoolean(rocket.mission() != null);
+            if (rocket.mission() != null) {
+                output.writeUTF(rocket.mission());
+            }
+            output.writeLong(rocket.version());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Rocket decodeRocket(byte[] entry) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry))) {
+            String name = input.readUTF();
+            RocketStatus status = ROCKET_STATUSES[input.readByte()];
+            String mission = input.readBoolean() ? input.readUTF() : null;
+            return new Rocket(name, status, mission, input.readLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] encode(Mission mission) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + mission.name().length());
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(mission.name());
+            output.writeByte(mission.status().ordinal());
+            output.writeInt(mission.allRocketsCnt());
+            output.writeInt(mission.inSpaceCnt());
+            output.writeInt(mission.inRepairCnt());
+            output.writeLong(mission.version());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Mission decodeMission(byte[] entry) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry))) {
+            String name = input.readUTF();
+            MissionStatus status = MISSION_STATUSES[input.readByte()];
+            return new Mission(name, status, input.readInt(), input.readInt(), input.readInt(), input.readLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
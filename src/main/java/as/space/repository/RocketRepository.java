@@ -1,12 +1,44 @@
 package as.space.repository;
 
 import as.space.model.Rocket;
+import as.space.model.RocketStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RocketRepository {
     void save(Rocket rocket);
+    void saveAll(Collection<Rocket> rockets);
+    // saves the rocket only if no rocket with its name is stored, of concurrent calls for one name exactly one wins
+    boolean saveIfAbsent(Rocket rocket);
+    // fills an empty repository at startup, not concurrently with other writes. The rockets are recorded as one change.
+    // Repositories without a faster path save them all.
+    default void load(List<Rocket> rockets) {
+        saveAll(rockets);
+    }
+    // saves the rocket only if the stored record exists and still has the expected version
+    boolean compareAndSave(long expectedVersion, Rocket rocket);
+    // sets the status and mission of the stored rocket if it still has the expected ones, and increments its version.
+    // The columnar and off-heap repositories update it in place, the in-memory one saves a new record.
+    boolean compareAndSetStatus(String name, RocketStatus expectedStatus, String expectedMission, RocketStatus status, String mission);
     Optional<Rocket> findByName(String name);
+    // null when the rocket does not exist
+    RocketStatus findStatus(String name);
+    // null when the rocket does not exist or is not assigned
+    String findMission(String name);
+    // rockets that exist, in the order of the given names
+    List<Rocket> findAllByName(Collection<String> names);
+    // every stored rocket in no particular order, each as one stored record
+    List<Rocket> findAll();
+    // rockets of the given mission sorted by name, unassigned rockets for null. Indexes find the k rockets in O(k);
+    // repositories that link them unordered, the columnar and off-heap ones, sort them, which makes the call O(k log k).
     List<Rocket> findByMission(String mission);
+    // rockets with the given status sorted by name, found and sorted like findByMission
+    List<Rocket> findByStatus(RocketStatus status);
+    int countByStatus(RocketStatus status);
+    // incremented by every change of a stored rocket, starts at 0
+    long changeVersion();
+    // current records of the rockets changed after the given change version, in the order of their last change
+    List<Rocket> findChangedSince(long changeVersion);
 }
@@ -0,0 +1,94 @@
+package as.space.repository;
+
+import as.space.model.Rocket;
+
+import java.util.*;
+
+// Rockets already sorted by name, seen as a sorted map only to build an index from them: the SortedMap constructor of
+// ConcurrentSkipListMap links the entries in one pass without comparing names. Only iteration is supported.
+final class SortedRockets extends AbstractMap<String, Rocket> implements SortedMap<String, Rocket> {
+    private final List<Rocket> rockets;
+
+    SortedRockets(List<Rocket> rockets) {
+        this.rockets = rockets;
+    }
+
+    // names in their natural order, as the indexes keep them
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    @Override
+    public Set<Entry<String, Rocket>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Rocket>> iterator() {
+                Iterator<Rocket> iterator = rockets.iterator();
+                // the index reads each entry before it asks for the next one, so one entry is reused for all rockets
+                RocketEntry entry = new RocketEntry();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Rocket> next() {
+                        entry.rocket = iterator.next();
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return rockets.size();
+            }
+        };
+    }
+
+    @Override
+    public SortedMap<String, Rocket> subMap(String fromKey, String toKey) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedMap<String, Rocket> headMap(String toKey) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedMap<String, Rocket> tailMap(String fromKey) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String firstKey() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String lastKey() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final class RocketEntry implements Entry<String, Rocket> {
+        private Rocket rocket;
+
+        @Override
+        public String getKey() {
+            return rocket.name();
+        }
+
+        @Override
+        public Rocket getValue() {
+            return rocket;
+        }
+
+        @Override
+        public Rocket setValue(Rocket value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package as.space.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+class StripedLocks {
+    private final Lock[] locks;
+
+    StripedLocks(int stripes) {
+        locks = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    Lock get(String key) {
+        return locks[stripe(key)];
+    }
+
+    // locks of all the given keys, each once and in stripe order, so writers taking several of them cannot deadlock
+    List<Lock> getAll(Iterable<String> keys) {
+        boolean[] used = new boolean[locks.length];
+        for (String key : keys) {
+            used[stripe(key)] = true;
+        }
+        List<Lock> result = new ArrayList<>();
+        for (int i = 0; i < locks.length; i++) {
+            if (used[i]) {
+                result.add(locks[i]);
+            }
+        }
+        return result;
+    }
+
+    private int stripe(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, locks.length);
+    }
+}
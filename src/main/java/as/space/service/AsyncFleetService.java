@@ -0,0 +1,64 @@
+package as.space.service;
+
+import as.space.model.AssignmentOutcome;
+import as.space.model.FleetDelta;
+import as.space.model.FleetVersion;
+import as.space.model.RocketStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+// Runs management and report operations on the given executor, so callers are never blocked by repository I/O. The
+// operations are those of the synchronous services, the executor thread blocks on the repository calls instead of the
+// caller. Stages fail with the exception the operation would have thrown.
+public class AsyncFleetService {
+    final private ManagementService managementService;
+    final private ReportService reportService;
+    final private Executor executor;
+
+    public AsyncFleetService(ManagementService managementService, ReportService reportService, Executor executor) {
+        this.managementService = managementService;
+        this.reportService = reportService;
+        this.executor = executor;
+    }
+
+    public CompletionStage<Void> assignRocketToMission(String rocketName, String missionName) {
+        return CompletableFuture.runAsync(() -> managementService.assignRocketToMission(rocketName, missionName), executor);
+    }
+
+    public CompletionStage<Map<String, AssignmentOutcome>> assignRocketsToMission(List<String> rockets, String missionName) {
+        return CompletableFuture.supplyAsync(() -> managementService.assignRocketsToMission(rockets, missionName), executor);
+    }
+
+    public CompletionStage<Void> changeRocketStatus(String rocketName, RocketStatus status) {
+        return CompletableFuture.runAsync(() -> managementService.changeRocketStatus(rocketName, status), executor);
+    }
+
+    public CompletionStage<Void> finishMission(String missionName) {
+        return CompletableFuture.runAsync(() -> managementService.finishMission(missionName), executor);
+    }
+
+    public CompletionStage<String> generateReport() {
+        return CompletableFuture.supplyAsync(reportService::generateReport, executor);
+    }
+
+    public CompletionStage<FleetDelta> generateReportSince(FleetVersion since) {
+        return CompletableFuture.supplyAsync(() -> reportService.generateReportSince(since), executor);
+    }
+
+    public CompletionStage<Void> generateReport(WritableByteChannel channel) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                reportService.generateReport(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,84 @@
+package as.space.service;
+
+import as.space.model.FleetStatistics;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.RocketStatus;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Fleet totals updated by the services with every change they apply, so reading them never touches the repositories.
+// One instance is meant to be shared by RocketService, MissionService and ManagementService. Totals are read one by
+// one, a snapshot taken while a change is applied can include only part of it.
+public class FleetAggregates {
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+    private final AtomicIntegerArray rocketsByStatus = new AtomicIntegerArray(ROCKET_STATUSES.length);
+    private final AtomicIntegerArray missionsByStatus = new AtomicIntegerArray(MISSION_STATUSES.length);
+    private final AtomicInteger rocketsInActiveMissions = new AtomicInteger();
+
+    // counts the rockets and missions already stored, used when the repositories were loaded from a journal or a snapshot
+    public static FleetAggregates of(RocketRepository rocketRepository, MissionRepository missionRepository) {
+        FleetAggregates aggregates = new FleetAggregates();
+        for (RocketStatus status : ROCKET_STATUSES) {
+            aggregates.rocketsByStatus.set(status.ordinal(), rocketRepository.countByStatus(status));
+        }
+        for (Mission mission : missionRepository.getAllSorted()) {
+            aggregates.missionsByStatus.incrementAndGet(mission.status().ordinal());
+            aggregates.rocketsInActiveMissions.addAndGet(mission.allRocketsCnt());
+        }
+        return aggregates;
+    }
+
+    public FleetStatistics snapshot() {
+        Map<RocketStatus, Integer> rockets = new EnumMap<>(RocketStatus.class);
+        for (RocketStatus status : ROCKET_STATUSES) {
+            rockets.put(status, rocketsByStatus.get(status.ordinal()));
+        }
+        Map<MissionStatus, Integer> missions = new EnumMap<>(MissionStatus.class);
+        for (MissionStatus status : MISSION_STATUSES) {
+            missions.put(status, missionsByStatus.get(status.ordinal()));
+        }
+        return new FleetStatistics(Collections.unmodifiableMap(rockets), Collections.unmodifiableMap(missions),
+                rocketsInActiveMissions.get());
+    }
+
+    void rocketCreated() {
+        rocketsByStatus.incrementAndGet(RocketStatus.ON_GROUND.ordinal());
+    }
+
+    void missionCreated() {
+        missionsByStatus.incrementAndGet(MissionStatus.SCHEDULED.ordinal());
+    }
+
+    void rocketStatusChanged(RocketStatus from, RocketStatus to) {
+        if (from != to) {
+            rocketsByStatus.decrementAndGet(from.ordinal());
+            rocketsByStatus.incrementAndGet(to.ordinal());
+        }
+    }
+
+    void rocketAssigned(RocketStatus from, RocketStatus to) {
+        rocketStatusChanged(from, to);
+        rocketsInActiveMissions.incrementAndGet();
+    }
+
+    void rocketReleased(RocketStatus from, RocketStatus to) {
+        rocketStatusChanged(from, to);
+        rocketsInActiveMissions.decrementAndGet();
+    }
+
+    void missionStatusChanged(MissionStatus from, MissionStatus to) {
+        if (from != to) {
+            missionsByStatus.decrementAndGet(from.ordinal());
+            missionsByStatus.incrementAndGet(to.ordinal());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package as.space.service;
+
+import as.space.exception.RocketAlreadyAssignedException;
+import as.space.exception.RocketNotFoundException;
+import as.space.model.AssignmentOutcome;
+import as.space.model.RocketStatus;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Queues management commands and applies them on a single writer thread, so commands never race each other on the
+// repositories and a hot mission is not retried by many threads. The writer drains the queue in batches, applies the
+// whole batch and then completes its futures. Submitting blocks while the queue is full.
+//
+// Consecutive single assignments to the same mission in a batch are applied as one assignRocketsToMission call, which
+// saves their rockets with one saveAll and updates the mission counters once, and each future gets the outcome of its
+// own rocket. They are recorded as one ASSIGN_ROCKETS operation in the metrics.
+//
+// Futures are completed on the writer thread, dependent stages that do real work should use the *Async methods.
+public class ManagementCommandPipeline implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final Command<Void> STOP = new Command<>(() -> null, new CompletableFuture<>(), null, null);
+
+    final private ManagementService managementService;
+    final private BlockingQueue<Command<?>> queue;
+    final private int batchSize;
+    final private Thread writer;
+    final private AtomicBoolean closed = new AtomicBoolean();
+    // set before the writer rejects the commands left in the queue
+    private volatile boolean terminated;
+
+    public ManagementCommandPipeline(ManagementService managementService) {
+        this(managementService, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public ManagementCommandPipeline(ManagementService managementService, int queueCapacity, int batchSize) {
+        this.managementService = managementService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::run, "management-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Void> assignRocketToMission(String rocketName, String missionName) {
+        return submit(new Command<>(() -> {
+            managementService.assignRocketToMission(rocketName, missionName);
+            return null;
+        }, new CompletableFuture<>(), rocketName, missionName));
+    }
+
+    public CompletableFuture<Map<String, AssignmentOutcome>> assignRocketsToMission(List<String> rockets, String missionName) {
+        return submit(() -> managementService.assignRocketsToMission(rockets, missionName));
+    }
+
+    public CompletableFuture<Void> changeRocketStatus(String rocketName, RocketStatus status) {
+        return submit(() -> {
+            managementService.changeRocketStatus(rocketName, status);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> finishMission(String missionName) {
+        return submit(() -> {
+            managementService.finishMission(missionName);
+            return null;
+        });
+    }
+
+    // commands submitted before close are applied, close returns once they are. Only the first close stops the writer,
+    // a concurrent one waits for it.
+    @Override
+    public void close() {
+        boolean stopping = closed.compareAndSet(false, true);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (stopping) {
+                    queue.put(STOP);
+                    stopping = false;
+                }
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        return submit(new Command<>(action, new CompletableFuture<>(), null, null));
+    }
+
+    private <T> CompletableFuture<T> submit(Command<T> command) {
+        if (closed.get()) {
+            command.reject();
+            return command.future;
+        }
+        try {
+            queue.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.future.completeExceptionally(e);
+            return command.future;
+        }
+        // the writer could have stopped after the closed check, then nobody else takes the command
+        if (terminated && queue.remove(command)) {
+            command.reject();
+        }
+        return command.future;
+    }
+
+    private void run() {
+        List<Command<?>> batch = new ArrayList<>(batchSize);
+        boolean stopped = false;
+        try {
+            while (!stopped) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                for (int i = 0; i < batch.size(); ) {
+                    Command<?> command = batch.get(i);
+                    if (command == STOP) {
+                        stopped = true;
+                        break;
+                    }
+                    int end = assignmentsEnd(batch, i);
+                    if (end - i > 1) {
+                        applyAssignments(batch.subList(i, end));
+                    } else {
+                        command.apply();
+                    }
+                    i = end;
+                }
+                for (Command<?> command : batch) {
+                    command.complete();
+                }
+                if (!stopped) {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            // the writer is stopped, the queued commands are rejected below
+        } finally {
+            terminated = true;
+            // commands behind the stop command were not applied, neither were the ones still queued
+            queue.drainTo(batch);
+            for (Command<?> command : batch) {
+                command.reject();
+            }
+        }
+    }
+
+    // end of the run of single assignments to one mission that starts at the given command, a rocket assigned twice
+    // ends the run, so its second assignment fails as it would on its own
+    private static int assignmentsEnd(List<Command<?>> batch, int start) {
+        String mission = batch.get(start).mission;
+        if (mission == null) {
+            return start + 1;
+        }
+        Set<String> rockets = new HashSet<>();
+        int end = start;
+        while (end < batch.size() && mission.equals(batch.get(end).mission) && rockets.add(batch.get(end).rocket)) {
+            end++;
+        }
+        return end;
+    }
+
+    private void applyAssignments(List<Command<?>> assignments) {
+        List<String> rockets = new ArrayList<>(assignments.size());
+        for (Command<?> assignment : assignments) {
+            rockets.add(assignment.rocket);
+        }
+        Map<String, AssignmentOutcome> outcomes;
+        try {
+            outcomes = managementService.assignRocketsToMission(rockets, assignments.get(0).mission);
+        } catch (RuntimeException e) {
+            for (Command<?> assignment : assignments) {
+                assignment.applied(e);
+            }
+            return;
+        }
+        // the exceptions assignRocketToMission throws for the same outcomes
+        for (Command<?> assignment : assignments) {
+            switch (outcomes.get(assignment.rocket)) {
+                case ASSIGNED -> assignment.applied(null);
+                case ROCKET_NOT_FOUND -> assignment.applied(new RocketNotFoundException(assignment.rocket));
+                case ROCKET_ALREADY_ASSIGNED -> assignment.applied(new RocketAlreadyAssignedException(assignment.rocket));
+            }
+        }
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> action;
+        private final CompletableFuture<T> future;
+        // rocket and mission of a single assignment, null for other commands
+        private final String rocket;
+        private final String mission;
+        private boolean applied;
+        private T result;
+        private Throwable failure;
+
+        private Command(Supplier<T> action, CompletableFuture<T> future, String rocket, String mission) {
+            this.action = action;
+            this.future = future;
+            this.rocket = rocket;
+            this.mission = mission;
+        }
+
+        private void apply() {
+            applied = true;
+            try {
+                result = action.get();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+        }
+
+        // applied as part of a batch of assignments, which have no result
+        private void applied(Throwable failure) {
+            applied = true;
+            this.failure = failure;
+        }
+
+        private void complete() {
+            if (!applied) {
+                return;
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        // does nothing for an applied command
+        private void reject() {
+            if (applied) {
+                return;
+            }
+            future.completeExceptionally(new RejectedExecutionException("Management command pipeline is closed."));
+        }
+    }
+}
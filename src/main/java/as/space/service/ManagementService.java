@@ -1,167 +1,485 @@
 package as.space.service;
 
 import as.space.exception.*;
+import as.space.feed.ChangeFeed;
+import as.space.metrics.Operation;
+import as.space.metrics.OperationMetrics;
+import as.space.metrics.ServiceMetrics;
+import as.space.model.AssignmentOutcome;
+import as.space.model.FleetStatistics;
 import as.space.model.Mission;
 import as.space.model.MissionStatus;
+import as.space.model.MissionTransition;
 import as.space.model.Rocket;
 import as.space.model.RocketStatus;
 import as.space.repository.MissionRepository;
 import as.space.repository.RocketRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+// Records are updated with compareAndSave and operations are retried when a concurrent update wins. A rocket
+// record is the single source of truth for its assignment, mission counters follow it with retried deltas.
 public class ManagementService {
     final private RocketRepository rocketRepository;
     final private MissionRepository missionRepository;
+    final private ServiceMetrics metrics;
+    final private ChangeFeed changeFeed;
+    // null when no instance is shared with the other services, statistics are then counted from the repositories
+    final private FleetAggregates aggregates;
 
     public ManagementService(RocketRepository rocketRepository, MissionRepository missionRepository) {
+        this(rocketRepository, missionRepository, new ServiceMetrics());
+    }
+
+    public ManagementService(RocketRepository rocketRepository, MissionRepository missionRepository, ServiceMetrics metrics) {
+        this(rocketRepository, missionRepository, metrics, new ChangeFeed());
+    }
+
+    public ManagementService(RocketRepository rocketRepository, MissionRepository missionRepository, ServiceMetrics metrics,
+                             ChangeFeed changeFeed) {
+        this(rocketRepository, missionRepository, metrics, changeFeed, null);
+    }
+
+    public ManagementService(RocketRepository rocketRepository, MissionRepository missionRepository, ServiceMetrics metrics,
+                             ChangeFeed changeFeed, FleetAggregates aggregates) {
         this.rocketRepository = rocketRepository;
         this.missionRepository = missionRepository;
+        this.metrics = metrics;
+        this.changeFeed = changeFeed;
+        this.aggregates = aggregates;
     }
 
-    public void assignRocketToMission(String rocketName, String missionName) {
+    public ServiceMetrics metrics() {
+        return metrics;
+    }
 
-        Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
-        Rocket rocket = rocketRepository.findByName(rocketName).orElseThrow(() -> new RocketNotFoundException(rocketName));
+    // every applied change of a rocket or a mission is published here
+    public ChangeFeed changeFeed() {
+        return changeFeed;
+    }
 
-        if (mission.status() == MissionStatus.ENDED) {
-            throw new CannotAssignToEndedMissionException(missionName);
+    // O(1) with a shared FleetAggregates. Without one every call counts the stored fleet through FleetAggregates.of,
+    // which reads the rocket count of each status and every stored mission, O(missions) per call; a private instance
+    // would miss the rockets and missions created through the other services. Share one where statistics are hot.
+    public FleetStatistics statistics() {
+        if (aggregates == null) {
+            return FleetAggregates.of(rocketRepository, missionRepository).snapshot();
         }
+        return aggregates.snapshot();
+    }
 
-        if (rocket.mission() != null) {
-            throw new RocketAlreadyAssignedException(rocketName);
+    public void assignRocketToMission(String rocketName, String missionName) {
+        OperationMetrics operationMetrics = metrics.of(Operation.ASSIGN_ROCKET);
+        long start = System.nanoTime();
+        try {
+            assign(rocketName, missionName);
+        } catch (RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
         }
+        operationMetrics.record(start);
+    }
 
-        RocketStatus newRocketStatus = rocket.status();
-        MissionStatus newMissionStatus = mission.status();
-        int allRocketsCnt = mission.allRocketsCnt();
-        int inSpaceCnt = mission.inSpaceCnt();
-        int inRepairCnt = mission.inRepairCnt();
+    public Map<String, AssignmentOutcome> assignRocketsToMission(List<String> rockets, String missionName) {
+        OperationMetrics operationMetrics = metrics.of(Operation.ASSIGN_ROCKETS);
+        long start = System.nanoTime();
+        Map<String, AssignmentOutcome> outcomes;
+        try {
+            outcomes = assignAll(rockets, missionName);
+        } catch (RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
+        }
+        operationMetrics.record(start);
+        return outcomes;
+    }
 
-        if (newRocketStatus == RocketStatus.ON_GROUND) {
-            newRocketStatus = RocketStatus.IN_SPACE;
-            inSpaceCnt++;
+    public void changeRocketStatus(String rocketName, RocketStatus status) {
+        OperationMetrics operationMetrics = metrics.of(Operation.CHANGE_ROCKET_STATUS);
+        long start = System.nanoTime();
+        try {
+            changeStatus(rocketName, status);
+        } catch (RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
         }
-        if (newMissionStatus == MissionStatus.SCHEDULED) {
-            newMissionStatus = MissionStatus.IN_PROGRESS;
+        operationMetrics.record(start);
+    }
+
+    public void finishMission(String missionName) {
+        OperationMetrics operationMetrics = metrics.of(Operation.FINISH_MISSION);
+        long start = System.nanoTime();
+        try {
+            finish(missionName);
+        } catch (RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
         }
-        if (newRocketStatus == RocketStatus.IN_REPAIR) {
-            newMissionStatus = MissionStatus.PENDING;
-            inRepairCnt++;
+        operationMetrics.record(start);
+    }
+
+    private void assign(String rocketName, String missionName) {
+        RocketAssignedEvent event = new RocketAssignedEvent();
+        event.begin();
+        while (true) {
+            Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+            Rocket rocket = rocketRepository.findByName(rocketName).orElseThrow(() -> new RocketNotFoundException(rocketName));
+
+            if (mission.status() == MissionStatus.ENDED) {
+                throw new CannotAssignToEndedMissionException(missionName);
+            }
+
+            if (rocket.mission() != null) {
+                throw new RocketAlreadyAssignedException(rocketName);
+            }
+
+            RocketStatus newRocketStatus = rocket.status();
+            MissionStatus newMissionStatus = mission.status();
+            int changeInSpace = 0;
+            int changeInRepair = 0;
+
+            if (newRocketStatus == RocketStatus.ON_GROUND) {
+                newRocketStatus = RocketStatus.IN_SPACE;
+                changeInSpace++;
+            }
+            if (newMissionStatus == MissionStatus.SCHEDULED) {
+                newMissionStatus = MissionStatus.IN_PROGRESS;
+            }
+            if (newRocketStatus == RocketStatus.IN_REPAIR) {
+                newMissionStatus = MissionStatus.PENDING;
+                changeInRepair++;
+            }
+            Mission updatedMissionRecord = new Mission(missionName, newMissionStatus, mission.allRocketsCnt() + 1,
+                    mission.inSpaceCnt() + changeInSpace, mission.inRepairCnt() + changeInRepair, mission.version() + 1);
+            if (!missionRepository.compareAndSave(mission.version(), updatedMissionRecord)) {
+                continue;
+            }
+            // published once the rocket is saved, so an assignment that does not happen shows no mission transition
+            MissionTransition reservation = MissionTransition.of(mission.status(), newMissionStatus);
+
+            Rocket updatedRocketRecord = new Rocket(rocketName, newRocketStatus, missionName, rocket.version() + 1);
+            if (!rocketRepository.compareAndSave(rocket.version(), updatedRocketRecord)) {
+                // the rocket changed after the mission counters were reserved, the returned reservation cancels out
+                // unless another change of the mission came in between
+                MissionTransition returned = missionRepository.updateCounters(missionName, -1, -changeInSpace, -changeInRepair);
+                publishMissionTransition(missionName, chainMissionTransition(missionName, reservation, returned));
+                continue;
+            }
+            publishMissionTransition(missionName, reservation);
+            rocketAssigned(rocketName, missionName, rocket.status(), newRocketStatus);
+
+            // finishMission could have ended the mission after its counters were reserved and before the
+            // rocket was saved, in that case the rocket is released as if the mission ended after assignment
+            Mission missionAfterAssignment = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+            if (missionAfterAssignment.status() == MissionStatus.ENDED) {
+                releaseRocket(updatedRocketRecord, missionName);
+            }
+            if (event.shouldCommit()) {
+                event.rocket = rocketName;
+                event.mission = missionName;
+                event.fromStatus = rocket.status().name();
+                event.toStatus = newRocketStatus.name();
+                event.missionFromStatus = mission.status().name();
+                event.missionToStatus = newMissionStatus.name();
+                event.commit();
+            }
+            return;
         }
-        allRocketsCnt++;
-        Rocket updatedRocketRecord = new Rocket(rocketName, newRocketStatus, missionName);
-        Mission updatedMissionRecord = new Mission(missionName, newMissionStatus, allRocketsCnt, inSpaceCnt, inRepairCnt);
-        rocketRepository.save(updatedRocketRecord);
-        missionRepository.save(updatedMissionRecord);
     }
 
-    public void assignRocketsToMission(List<String> rockets, String missionName){
+    private Map<String, AssignmentOutcome> assignAll(List<String> rockets, String missionName){
+        RocketsAssignedEvent event = new RocketsAssignedEvent();
+        event.begin();
+        Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+        if (mission.status() == MissionStatus.ENDED) {
+            throw new CannotAssignToEndedMissionException(missionName);
+        }
+
+        Map<String, Rocket> rocketsFound = new HashMap<>();
+        for (Rocket rocket : rocketRepository.findAllByName(rockets)) {
+            rocketsFound.put(rocket.name(), rocket);
+        }
+
+        // counters of every rocket that can be assigned are reserved before any of them is saved, like assign does, so
+        // a concurrent status change of an assigned rocket always finds it counted. Reservations of rockets that could
+        // not be assigned are returned once at the end.
+        int reservedAll = 0;
+        int reservedInSpace = 0;
+        int reservedInRepair = 0;
+        for (Rocket rocket : rocketsFound.values()) {
+            if (rocket.mission() == null) {
+                reservedAll++;
+                if (rocket.status() == RocketStatus.IN_REPAIR) {
+                    reservedInRepair++;
+                } else {
+                    reservedInSpace++;
+                }
+            }
+        }
+        MissionTransition pendingTransition = null;
+        if (reservedAll > 0) {
+            pendingTransition = missionRepository.updateCounters(missionName, reservedAll, reservedInSpace, reservedInRepair);
+            if (pendingTransition == null) {
+                throw new CannotAssignToEndedMissionException(missionName);
+            }
+        }
+
+        Map<String, AssignmentOutcome> outcomes = new LinkedHashMap<>();
+        List<Rocket> assignedRockets = new ArrayList<>();
+        int changeInSpace = 0;
+        int changeInRepair = 0;
         for (String rocketName : rockets){
-            try {
-                assignRocketToMission(rocketName, missionName);
-            }catch(RocketNotFoundException | RocketAlreadyAssignedException e){
-                // rockets not assigned
+            if (outcomes.containsKey(rocketName)) {
+                continue;
+            }
+            Rocket rocket = rocketsFound.get(rocketName);
+            // whether the reservation of this rocket counts it in repair, null when it was not reserved
+            Boolean reservedAsInRepair = rocket == null || rocket.mission() != null ? null : rocket.status() == RocketStatus.IN_REPAIR;
+            AssignmentOutcome outcome = null;
+            while (outcome == null) {
+                if (rocket == null) {
+                    outcome = AssignmentOutcome.ROCKET_NOT_FOUND;
+                } else if (rocket.mission() != null) {
+                    outcome = AssignmentOutcome.ROCKET_ALREADY_ASSIGNED;
+                } else {
+                    RocketStatus newRocketStatus = rocket.status() == RocketStatus.ON_GROUND ? RocketStatus.IN_SPACE : rocket.status();
+                    boolean inRepair = newRocketStatus == RocketStatus.IN_REPAIR;
+                    if (reservedAsInRepair != inRepair) {
+                        // the rocket was repaired or broke since it was read, its reservation is moved before it is saved
+                        int repairDelta = inRepair ? 1 : -1;
+                        pendingTransition = chainMissionTransition(missionName, pendingTransition,
+                                missionRepository.updateCounters(missionName, 0, -repairDelta, repairDelta));
+                        reservedInSpace -= repairDelta;
+                        reservedInRepair += repairDelta;
+                        reservedAsInRepair = inRepair;
+                    }
+                    Rocket updatedRocketRecord = new Rocket(rocketName, newRocketStatus, missionName, rocket.version() + 1);
+                    if (rocketRepository.compareAndSave(rocket.version(), updatedRocketRecord)) {
+                        outcome = AssignmentOutcome.ASSIGNED;
+                        assignedRockets.add(updatedRocketRecord);
+                        rocketAssigned(rocketName, missionName, rocket.status(), newRocketStatus);
+                        if (inRepair) {
+                            changeInRepair++;
+                        } else {
+                            changeInSpace++;
+                        }
+                    } else {
+                        rocket = rocketRepository.findByName(rocketName).orElse(null);
+                    }
+                }
+            }
+            outcomes.put(rocketName, outcome);
+        }
+
+        if (assignedRockets.size() != reservedAll || changeInSpace != reservedInSpace || changeInRepair != reservedInRepair) {
+            pendingTransition = chainMissionTransition(missionName, pendingTransition, missionRepository.updateCounters(missionName,
+                    assignedRockets.size() - reservedAll, changeInSpace - reservedInSpace, changeInRepair - reservedInRepair));
+        }
+        publishMissionTransition(missionName, pendingTransition);
+        if (!assignedRockets.isEmpty()) {
+            // the mission could have been finished while the rockets were assigned
+            Mission missionAfterAssignment = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+            if (missionAfterAssignment.status() == MissionStatus.ENDED) {
+                for (Rocket assignedRocket : assignedRockets) {
+                    releaseRocket(assignedRocket, missionName);
+                }
             }
         }
+        if (event.shouldCommit()) {
+            event.mission = missionName;
+            event.requested = rockets.size();
+            event.assigned = assignedRockets.size();
+            event.commit();
+        }
+        return outcomes;
     }
 
-    public void changeRocketStatus(String rocketName, RocketStatus status) {
-        Rocket rocket = rocketRepository.findByName(rocketName).orElseThrow(() -> new RocketNotFoundException(rocketName));
-        String currentMission = rocket.mission();
-        RocketStatus initialStatus = rocket.status();
-        RocketStatus newStatus = rocket.status();
-        String newMission = rocket.mission();
-
-        if (initialStatus == RocketStatus.ON_GROUND) {
-            switch (status) {
-                case IN_REPAIR:
-                    newStatus = status;
-                    break;
-                case IN_SPACE:
-                    throw new OperationNotAllowedException("Rocket can be sent in space only by assigning it to mission.");
-                default:
-                    return;
-            }
-        }
-        if (initialStatus == RocketStatus.IN_SPACE) {
-            switch (status) {
-                case IN_REPAIR:
-                    newStatus = status;
-                    updateMission(currentMission, 0, -1,1);
-                    break;
-                case ON_GROUND:
-                    newStatus = status;
-                    newMission = null;
-                    updateMission(currentMission, -1, -1, 0);
-                    break;
-                default:
-                    return;
-            }
-        }
-        if (initialStatus == RocketStatus.IN_REPAIR) {
-            switch (status) {
-                case IN_SPACE:
-                    if(currentMission!=null){
+    private void changeStatus(String rocketName, RocketStatus status) {
+        // reads the status and mission instead of the whole record and applies the transition with compareAndSetStatus.
+        // The columnar and off-heap rocket repositories update their stored state in place, so with them a transition
+        // of an existing rocket allocates nothing; InMemoryRocketRepository keeps immutable records and saves a new one.
+        // The event is not allocated while it is disabled, as it does not escape.
+        RocketStatusChangedEvent event = new RocketStatusChangedEvent();
+        event.begin();
+        while (true) {
+            RocketStatus initialStatus = rocketRepository.findStatus(rocketName);
+            if (initialStatus == null) {
+                throw new RocketNotFoundException(rocketName);
+            }
+            String currentMission = rocketRepository.findMission(rocketName);
+            RocketStatus newStatus = initialStatus;
+            String newMission = currentMission;
+            int changeAllRockets = 0;
+            int changeInSpace = 0;
+            int changeInRepair = 0;
+
+            if (initialStatus == RocketStatus.ON_GROUND) {
+                switch (status) {
+                    case IN_REPAIR:
                         newStatus = status;
-                        updateMission(currentMission, 0, 1, -1);
                         break;
-                    }else{
+                    case IN_SPACE:
                         throw new OperationNotAllowedException("Rocket can be sent in space only by assigning it to mission.");
-                    }
-                case ON_GROUND:
-                    if (currentMission != null) {
-                        updateMission(currentMission, -1, 0, -1);
-                    }
-                    newStatus = status;
-                    newMission = null;
-                    break;
-                default:
-                    return;
+                    default:
+                        return;
+                }
+            }
+            if (initialStatus == RocketStatus.IN_SPACE) {
+                switch (status) {
+                    case IN_REPAIR:
+                        newStatus = status;
+                        changeInSpace = -1;
+                        changeInRepair = 1;
+                        break;
+                    case ON_GROUND:
+                        newStatus = status;
+                        newMission = null;
+                        changeAllRockets = -1;
+                        changeInSpace = -1;
+                        break;
+                    default:
+                        return;
+                }
+            }
+            if (initialStatus == RocketStatus.IN_REPAIR) {
+                switch (status) {
+                    case IN_SPACE:
+                        if(currentMission!=null){
+                            newStatus = status;
+                            changeInSpace = 1;
+                            changeInRepair = -1;
+                            break;
+                        }else{
+                            throw new OperationNotAllowedException("Rocket can be sent in space only by assigning it to mission.");
+                        }
+                    case ON_GROUND:
+                        if (currentMission != null) {
+                            changeAllRockets = -1;
+                            changeInRepair = -1;
+                        }
+                        newStatus = status;
+                        newMission = null;
+                        break;
+                    default:
+                        return;
+                }
             }
-        }
 
-        Rocket updatedRocketRecord = new Rocket(rocket.name(), newStatus, newMission);
-        rocketRepository.save(updatedRocketRecord);
+            if (!rocketRepository.compareAndSetStatus(rocketName, initialStatus, currentMission, newStatus, newMission)) {
+                continue;
+            }
+            changeFeed.rocketStatusChanged(rocketName, currentMission, initialStatus, newStatus);
+            if (aggregates != null && currentMission != null && newMission == null) {
+                aggregates.rocketReleased(initialStatus, newStatus);
+            } else if (aggregates != null) {
+                aggregates.rocketStatusChanged(initialStatus, newStatus);
+            }
+            if (currentMission != null) {
+                // not applied to an ended mission, finishMission has already cleared its counters
+                publishMissionTransition(currentMission,
+                        missionRepository.updateCounters(currentMission, changeAllRockets, changeInSpace, changeInRepair));
+            }
+            if (event.shouldCommit()) {
+                event.rocket = rocketName;
+                event.mission = currentMission;
+                event.fromStatus = initialStatus.name();
+                event.toStatus = newStatus.name();
+                event.commit();
+            }
+            return;
+        }
     }
 
-    public void finishMission(String missionName){
-        Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+    private void finish(String missionName){
+        MissionFinishedEvent event = new MissionFinishedEvent();
+        event.begin();
+        MissionStatus previousStatus;
+        while (true) {
+            Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
+            Mission updatedMissionRecord = new Mission(mission.name(), MissionStatus.ENDED, 0, 0, 0, mission.version() + 1);
+            if (missionRepository.compareAndSave(mission.version(), updatedMissionRecord)) {
+                previousStatus = mission.status();
+                if (aggregates != null) {
+                    aggregates.missionStatusChanged(previousStatus, MissionStatus.ENDED);
+                }
+                break;
+            }
+        }
+        // the mission is ended first, so no rocket can be assigned to it while its rockets are released
         List<Rocket> rocketsAssignedToMission = rocketRepository.findByMission(missionName);
         for(Rocket rocket : rocketsAssignedToMission){
+            releaseRocket(rocket, missionName);
+        }
+        changeFeed.missionFinished(missionName, previousStatus, rocketsAssignedToMission.size());
+        if (event.shouldCommit()) {
+            event.mission = missionName;
+            event.fromStatus = previousStatus.name();
+            event.releasedRockets = rocketsAssignedToMission.size();
+            event.commit();
+        }
+    }
+
+    // starts from the given record and re-reads the rocket only when a concurrent update won
+    private void releaseRocket(Rocket rocket, String missionName) {
+        while (rocket != null) {
+            if (!missionName.equals(rocket.mission())) {
+                return;
+            }
             RocketStatus rocketStatus = rocket.status();
             if(rocket.status()==RocketStatus.IN_SPACE){
                 rocketStatus = RocketStatus.ON_GROUND;
             }
-            Rocket updatedRocketRecord = new Rocket(rocket.name(), rocketStatus, null);
-            rocketRepository.save(updatedRocketRecord);
+            Rocket updatedRocketRecord = new Rocket(rocket.name(), rocketStatus, null, rocket.version() + 1);
+            if (rocketRepository.compareAndSave(rocket.version(), updatedRocketRecord)) {
+                changeFeed.rocketStatusChanged(rocket.name(), missionName, rocket.status(), rocketStatus);
+                if (aggregates != null) {
+                    aggregates.rocketReleased(rocket.status(), rocketStatus);
+                }
+                return;
+            }
+            rocket = rocketRepository.findByName(rocket.name()).orElse(null);
         }
-        Mission updatedMissionRecord = new Mission(mission.name(), MissionStatus.ENDED, 0,0,0);
-        missionRepository.save(updatedMissionRecord);
     }
 
-    private void updateMission(String missionName, int changeAllRockets, int changeInSpace, int changeInRepair) {
-        Mission mission = missionRepository.findByName(missionName).orElseThrow(() -> new MissionNotFoundException(missionName));
-        int allRocketsCnt = mission.allRocketsCnt();
-        int inSpaceCnt = mission.inSpaceCnt();
-        int inRepairCnt = mission.inRepairCnt();
-        MissionStatus status;
+    private void rocketAssigned(String rocketName, String missionName, RocketStatus from, RocketStatus to) {
+        changeFeed.rocketAssigned(rocketName, missionName, from, to);
+        if (aggregates != null) {
+            aggregates.rocketAssigned(from, to);
+        }
+    }
+
+    private void publishMissionTransition(String missionName, MissionTransition transition) {
+        if (transition != null) {
+            missionStatusChanged(missionName, transition.from(), transition.to());
+        }
+    }
 
-        allRocketsCnt += changeAllRockets;
-        inSpaceCnt += changeInSpace;
-        inRepairCnt += changeInRepair;
+    // joins two transitions applied one after the other into one, so a reservation that is returned does not show up
+    // as two status changes. Transitions that do not follow each other are published separately.
+    private MissionTransition chainMissionTransition(String missionName, MissionTransition pending, MissionTransition next) {
+        if (pending == null) {
+            return next;
+        }
+        if (next == null) {
+            return pending;
+        }
+        if (pending.to() == next.from()) {
+            return MissionTransition.of(pending.from(), next.to());
+        }
+        publishMissionTransition(missionName, pending);
+        return next;
+    }
 
-        if (allRocketsCnt > 0) {
-            if (inRepairCnt > 0) {
-                status = MissionStatus.PENDING;
-            } else {
-                status = MissionStatus.IN_PROGRESS;
+    private void missionStatusChanged(String missionName, MissionStatus from, MissionStatus to) {
+        if (from != to) {
+            changeFeed.missionStatusChanged(missionName, from, to);
+            if (aggregates != null) {
+                aggregates.missionStatusChanged(from, to);
             }
-        } else {
-            status = MissionStatus.SCHEDULED;
         }
-
-        Mission updatedMissionRecord = new Mission(missionName, status, allRocketsCnt, inSpaceCnt, inRepairCnt);
-        missionRepository.save(updatedMissionRecord);
     }
 }
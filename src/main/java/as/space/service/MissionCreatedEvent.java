@@ -0,0 +1,12 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.MissionCreated")
+@Label("Mission Created")
+@Category("Fleet")
+@Enabled(false)
+class MissionCreatedEvent extends Event {
+    @Label("Mission")
+    String mission;
+}
@@ -0,0 +1,18 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.MissionFinished")
+@Label("Mission Finished")
+@Category("Fleet")
+@Enabled(false)
+class MissionFinishedEvent extends Event {
+    @Label("Mission")
+    String mission;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("Released Rockets")
+    int releasedRockets;
+}
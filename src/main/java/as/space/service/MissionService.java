@@ -7,17 +7,33 @@ import as.space.repository.MissionRepository;
 
 public class MissionService {
     final private MissionRepository missionRepository;
+    // null when no instance is shared with the other services
+    final private FleetAggregates aggregates;
 
     public MissionService(MissionRepository missionRepository) {
+        this(missionRepository, null);
+    }
+
+    public MissionService(MissionRepository missionRepository, FleetAggregates aggregates) {
         this.missionRepository = missionRepository;
+        this.aggregates = aggregates;
     }
 
     public Mission createNewMission(String missionName) {
-        if (missionRepository.findByName(missionName).isPresent()) {
+        MissionCreatedEvent event = new MissionCreatedEvent();
+        event.begin();
+        Mission mission = new Mission(missionName, MissionStatus.SCHEDULED,0,0,0);
+        // of concurrent creations of one mission only the one that stores it is counted
+        if (!missionRepository.saveIfAbsent(mission)) {
             throw new MissionAlreadyExistsException(missionName);
         }
-        Mission mission = new Mission(missionName, MissionStatus.SCHEDULED,0,0,0);
-        missionRepository.save(mission);
+        if (aggregates != null) {
+            aggregates.missionCreated();
+        }
+        if (event.shouldCommit()) {
+            event.mission = missionName;
+            event.commit();
+        }
         return mission;
     }
 }
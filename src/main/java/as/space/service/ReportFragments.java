@@ -0,0 +1,93 @@
+package as.space.service;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Rendered text report section of each mission, its header line and rocket lines. Before a report the sections of the
+// missions changed since the previous report are dropped, together with the sections of the missions whose rockets
+// changed, so only those are rendered again. Changes are read from the change tracking of the repositories.
+//
+// A rocket changed after its section was rendered drops the section of the mission it is in now, not the one it was
+// listed in. A rocket leaves a mission that has not ended only together with a change of that mission's counters,
+// which drops the section. Rockets leave an ended mission without changing it, finishMission releases them after it
+// ended the mission, so the section of an ended mission is cached only once it lists no rockets. A rocket that joins
+// an ended mission later, when an assignment races with finishMission, drops the section through its own change.
+final class ReportFragments {
+    private static final long NONE = -1;
+
+    final private RocketRepository rocketRepository;
+    final private MissionRepository missionRepository;
+    final private Map<String, String> fragments = new ConcurrentHashMap<>();
+    final private ReentrantLock refreshLock = new ReentrantLock();
+    // versions the cached sections are at least as recent as, NONE before the first report
+    private long rocketsVersion = NONE;
+    private long missionsVersion = NONE;
+
+    ReportFragments(RocketRepository rocketRepository, MissionRepository missionRepository) {
+        this.rocketRepository = rocketRepository;
+        this.missionRepository = missionRepository;
+    }
+
+    void refresh() {
+        refreshLock.lock();
+        try {
+            // versions are read before the changes, anything changed after them is dropped again by the next refresh
+            long currentRockets = rocketRepository.changeVersion();
+            long currentMissions = missionRepository.changeVersion();
+            if (rocketsVersion != NONE) {
+                for (Mission mission : missionRepository.findChangedSince(missionsVersion)) {
+                    fragments.remove(mission.name());
+                }
+                for (Rocket rocket : rocketRepository.findChangedSince(rocketsVersion)) {
+                    if (rocket.mission() != null) {
+                        fragments.remove(rocket.mission());
+                    }
+                }
+            }
+            rocketsVersion = currentRockets;
+            missionsVersion = currentMissions;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // the section is rendered inside computeIfAbsent from the stored state, so a refresh that drops it waits until it
+    // is cached and a section rendered from a replaced state never stays
+    String fragment(Mission mission) {
+        String fragment = fragments.get(mission.name());
+        if (fragment != null) {
+            return fragment;
+        }
+        String[] uncached = new String[1];
+        fragment = fragments.computeIfAbsent(mission.name(), name -> {
+            Mission current = missionRepository.findByName(name).orElse(mission);
+            List<Rocket> rockets = rocketRepository.findByMission(name);
+            String rendered = render(current, rockets);
+            if (current.status() == MissionStatus.ENDED && !rockets.isEmpty()) {
+                // the rockets are about to be released
+                uncached[0] = rendered;
+                return null;
+            }
+            return rendered;
+        });
+        return fragment != null ? fragment : uncached[0];
+    }
+
+    private static String render(Mission mission, List<Rocket> rockets) {
+        StringBuilder fragment = new StringBuilder();
+        fragment.append(mission.name()).append(" - ").append(mission.status().name()).append(" - ")
+                .append(mission.allRocketsCnt()).append(" dragons\n");
+        for (Rocket rocket : rockets) {
+            fragment.append("  ").append(rocket.name()).append(" - ").append(rocket.status().name()).append('\n');
+        }
+        return fragment.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.ReportGenerated")
+@Label("Report Generated")
+@Category("Fleet")
+@Enabled(false)
+class ReportGeneratedEvent extends Event {
+    @Label("Missions")
+    int missions;
+}
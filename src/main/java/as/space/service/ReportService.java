@@ -1,35 +1,207 @@
 package as.space.service;
 
+import as.space.metrics.Operation;
+import as.space.metrics.OperationMetrics;
+import as.space.metrics.ServiceMetrics;
+import as.space.model.FleetDelta;
+import as.space.model.FleetVersion;
 import as.space.model.Mission;
+import as.space.model.MissionCursor;
 import as.space.model.Rocket;
 import as.space.repository.MissionRepository;
+import as.space.report.ReportEncoder;
+import as.space.report.ReportOutput;
 import as.space.repository.RocketRepository;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 public class ReportService {
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
+    private static final Comparator<Rocket> BY_NAME = Comparator.comparing(Rocket::name);
+
     final private RocketRepository rocketRepository;
     final private MissionRepository missionRepository;
+    final private ServiceMetrics metrics;
+    final private ReportFragments fragments;
+    // tells the versions issued by this service from those of a service over repositories opened earlier
+    final private long epoch = newEpoch();
 
     public ReportService(RocketRepository rocketRepository, MissionRepository missionRepository) {
+        this(rocketRepository, missionRepository, new ServiceMetrics());
+    }
+
+    public ReportService(RocketRepository rocketRepository, MissionRepository missionRepository, ServiceMetrics metrics) {
         this.rocketRepository = rocketRepository;
         this.missionRepository = missionRepository;
+        this.metrics = metrics;
+        this.fragments = new ReportFragments(rocketRepository, missionRepository);
+    }
+
+    public ServiceMetrics metrics() {
+        return metrics;
     }
 
     public String generateReport() {
-        List<Mission> missions = missionRepository.getAllSorted();
         StringBuilder report = new StringBuilder();
+        try {
+            generateReport(report);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    // top missions are generateReport(0, n)
+    public String generateReport(int offset, int limit) {
+        StringBuilder report = new StringBuilder();
+        try {
+            generateReport(report, offset, limit);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    public void generateReport(WritableByteChannel channel) throws IOException {
+        ChannelAppendable report = new ChannelAppendable(channel, CHANNEL_BUFFER_SIZE);
+        generateReport(report);
+        report.flush();
+    }
+
+    public void generateReport(OutputStream outputStream) throws IOException {
+        generateReport(Channels.newChannel(outputStream));
+    }
+
+    public void generateReport(Appendable report) throws IOException {
+        generateReport(missionRepository::getAllSorted, missions -> appendReport(report, missions));
+    }
+
+    public void generateReport(Appendable report, int offset, int limit) throws IOException {
+        generateReport(() -> missionRepository.getSorted(offset, limit), missions -> appendReport(report, missions));
+    }
+
+    public void generateReport(ReportEncoder encoder, WritableByteChannel channel) throws IOException {
+        generateReport(encoder, new ReportOutput(channel, ByteBuffer.allocate(CHANNEL_BUFFER_SIZE)));
+    }
 
+    public void generateReport(ReportEncoder encoder, OutputStream outputStream) throws IOException {
+        generateReport(encoder, Channels.newChannel(outputStream));
+    }
+
+    // the output, and the buffer it writes through, can be reused for the next report
+    public void generateReport(ReportEncoder encoder, ReportOutput output) throws IOException {
+        generateReport(missionRepository::getAllSorted, missions -> encodeReport(encoder, output, missions));
+    }
+
+    // appends the missions after the cursor, null starts at the first one. Returns the cursor of the next page, null
+    // when there are no more missions.
+    public MissionCursor generateReportPage(Appendable report, MissionCursor after, int limit) throws IOException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        List<Mission> page = new ArrayList<>(limit + 1);
+        generateReport(() -> {
+            // one more mission is read to know whether another page follows
+            page.addAll(missionRepository.getSortedAfter(after, limit + 1));
+            return page.size() > limit ? page.subList(0, limit) : page;
+        }, missions -> appendReport(report, missions));
+        return page.size() > limit ? MissionCursor.after(page.get(limit - 1)) : null;
+    }
+
+    public FleetVersion fleetVersion() {
+        return new FleetVersion(epoch, rocketRepository.changeVersion(), missionRepository.changeVersion());
+    }
+
+    // missions and rockets changed since the given version, read from the change tracking of the repositories, so the
+    // cost depends on the number of changes and not on the size of the fleet. A change made while the delta is read
+    // can be in this delta and again in the next one, but it is never missed. A version of another epoch may be ahead
+    // of the restarted versions of the repositories, so the whole fleet is returned for it.
+    public FleetDelta generateReportSince(FleetVersion since) {
+        OperationMetrics operationMetrics = metrics.of(Operation.GENERATE_REPORT);
+        long start = System.nanoTime();
+        FleetVersion version;
+        List<Mission> missions;
+        List<Rocket> rockets;
+        try {
+            // versions are read before the changes, anything changed after them is part of the next delta as well
+            version = fleetVersion();
+            boolean sameEpoch = since.epoch() == epoch;
+            missions = new ArrayList<>(missionRepository.findChangedSince(sameEpoch ? since.missions() : 0));
+            rockets = new ArrayList<>(rocketRepository.findChangedSince(sameEpoch ? since.rockets() : 0));
+        } catch (RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
+        }
+        missions.sort(Mission.REPORT_ORDER);
+        rockets.sort(BY_NAME);
+        operationMetrics.record(start);
+        return new FleetDelta(version, Collections.unmodifiableList(missions), Collections.unmodifiableList(rockets));
+    }
+
+    // every report variant ends up here, so each report is recorded once
+    private void generateReport(Supplier<List<Mission>> missionSupplier, ReportBody body) throws IOException {
+        OperationMetrics operationMetrics = metrics.of(Operation.GENERATE_REPORT);
+        long start = System.nanoTime();
+        try {
+            ReportGeneratedEvent event = new ReportGeneratedEvent();
+            event.begin();
+            List<Mission> missions = missionSupplier.get();
+            body.write(missions);
+            if (event.shouldCommit()) {
+                event.missions = missions.size();
+                event.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            operationMetrics.recordFailure(start, e);
+            throw e;
+        }
+        operationMetrics.record(start);
+    }
+
+    // missions that did not change since the previous report are appended from their cached sections
+    private void appendReport(Appendable report, List<Mission> missions) throws IOException {
+        fragments.refresh();
         for (Mission mission : missions) {
-            report.append(mission.name()).append(" - ").append(mission.status().name()).append(" - ").append(mission.allRocketsCnt()).append(" dragons\n");
+            report.append(fragments.fragment(mission));
+        }
+    }
 
+    // same traversal as the text report, the encoder decides how missions and rockets are written
+    private void encodeReport(ReportEncoder encoder, ReportOutput output, List<Mission> missions) throws IOException {
+        encoder.beginReport(output);
+        for (int i = 0; i < missions.size(); i++) {
+            Mission mission = missions.get(i);
             List<Rocket> rockets = rocketRepository.findByMission(mission.name());
-            for (Rocket rocket : rockets) {
-                String rocketPart = "  " + rocket.name() + " - " + rocket.status().name() + "\n";
-                report.append(rocketPart);
+            encoder.beginMission(output, mission, i, rockets.size());
+            for (int j = 0; j < rockets.size(); j++) {
+                encoder.rocket(output, mission, rockets.get(j), j);
             }
+            encoder.endMission(output, mission);
         }
+        encoder.endReport(output);
+        output.flush();
+    }
 
-        return report.toString();
+    private interface ReportBody {
+        void write(List<Mission> missions) throws IOException;
+    }
+
+    private static long newEpoch() {
+        long epoch;
+        do {
+            epoch = ThreadLocalRandom.current().nextLong();
+        } while (epoch == FleetVersion.INITIAL.epoch());
+        return epoch;
     }
 }
@@ -0,0 +1,27 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.RocketAssigned")
+@Label("Rocket Assigned")
+@Category("Fleet")
+@Enabled(false)
+class RocketAssignedEvent extends Event {
+    @Label("Rocket")
+    String rocket;
+
+    @Label("Mission")
+    String mission;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    String toStatus;
+
+    @Label("Mission From Status")
+    String missionFromStatus;
+
+    @Label("Mission To Status")
+    String missionToStatus;
+}
@@ -0,0 +1,12 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.RocketCreated")
+@Label("Rocket Created")
+@Category("Fleet")
+@Enabled(false)
+class RocketCreatedEvent extends Event {
+    @Label("Rocket")
+    String rocket;
+}
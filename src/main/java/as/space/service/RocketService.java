@@ -7,17 +7,33 @@ import as.space.repository.RocketRepository;
 
 public class RocketService {
     final private RocketRepository rocketRepository;
+    // null when no instance is shared with the other services
+    final private FleetAggregates aggregates;
 
     public RocketService(RocketRepository rocketRepository) {
+        this(rocketRepository, null);
+    }
+
+    public RocketService(RocketRepository rocketRepository, FleetAggregates aggregates) {
         this.rocketRepository = rocketRepository;
+        this.aggregates = aggregates;
     }
 
     public Rocket createNewRocket(String rocketName){
-        if (rocketRepository.findByName(rocketName).isPresent()) {
+        RocketCreatedEvent event = new RocketCreatedEvent();
+        event.begin();
+        Rocket rocket = new Rocket(rocketName, RocketStatus.ON_GROUND, null);
+        // of concurrent creations of one rocket only the one that stores it is counted
+        if (!rocketRepository.saveIfAbsent(rocket)) {
             throw new RocketAlreadyExistsException(rocketName);
         }
-        Rocket rocket = new Rocket(rocketName, RocketStatus.ON_GROUND, null);
-        rocketRepository.save(rocket);
+        if (aggregates != null) {
+            aggregates.rocketCreated();
+        }
+        if (event.shouldCommit()) {
+            event.rocket = rocketName;
+            event.commit();
+        }
         return rocket;
     }
 }
@@ -0,0 +1,21 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.RocketStatusChanged")
+@Label("Rocket Status Changed")
+@Category("Fleet")
+@Enabled(false)
+class RocketStatusChangedEvent extends Event {
+    @Label("Rocket")
+    String rocket;
+
+    @Label("Mission")
+    String mission;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    String toStatus;
+}
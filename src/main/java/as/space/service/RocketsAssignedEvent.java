@@ -0,0 +1,18 @@
+package as.space.service;
+
+import jdk.jfr.*;
+
+@Name("as.space.RocketsAssigned")
+@Label("Rockets Assigned")
+@Category("Fleet")
+@Enabled(false)
+class RocketsAssignedEvent extends Event {
+    @Label("Mission")
+    String mission;
+
+    @Label("Requested Rockets")
+    int requested;
+
+    @Label("Assigned Rockets")
+    int assigned;
+}
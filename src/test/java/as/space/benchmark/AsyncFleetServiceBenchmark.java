@@ -0,0 +1,74 @@
+package as.space.benchmark;
+
+import as.space.model.RocketStatus;
+import as.space.service.AsyncFleetService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Every invocation has all clients in flight at once, each client changes the status of its own rocket. The virtual
+// executor needs JDK 21 or newer: -p executor=virtual
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncFleetServiceBenchmark {
+
+    @Param({"100000"})
+    private int clients;
+
+    @Param({"platform"})
+    private String executor;
+
+    private Fleet fleet;
+    private ExecutorService executorService;
+    private AsyncFleetService asyncFleetService;
+    private CompletableFuture<?>[] pending;
+    private boolean inRepair;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fleet = new Fleet(clients, 100, 0);
+        executorService = switch (executor) {
+            case "virtual" -> (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+            default -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+        };
+        asyncFleetService = new AsyncFleetService(fleet.managementService, fleet.reportService, executorService);
+        pending = new CompletableFuture<?>[clients];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    @Benchmark
+    public void changeRocketStatus() {
+        inRepair = !inRepair;
+        RocketStatus status = inRepair ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE;
+        for (int i = 0; i < clients; i++) {
+            pending[i] = asyncFleetService.changeRocketStatus(fleet.assignedRockets[i], status).toCompletableFuture();
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AsyncFleetServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
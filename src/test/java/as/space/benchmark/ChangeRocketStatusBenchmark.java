@@ -0,0 +1,57 @@
+package as.space.benchmark;
+
+import as.space.model.RocketStatus;
+import as.space.repository.ColumnarRocketRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.OffHeapRocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Allocation of status transitions on a steady-state fleet, see gc.alloc.rate.norm. The in-place rocket
+// repositories are expected to allocate nothing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeRocketStatusBenchmark {
+
+    @Param({"100000"})
+    private int rockets;
+
+    @Param({"inMemory", "columnar", "offHeap"})
+    private String implementation;
+
+    private Fleet fleet;
+    private int nextAssigned;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = switch (implementation) {
+            case "columnar" -> new Fleet(new ColumnarRocketRepository(), rockets, 100, 0);
+            case "offHeap" -> new Fleet(new OffHeapRocketRepository(), rockets, 100, 0);
+            default -> new Fleet(new InMemoryRocketRepository(), rockets, 100, 0);
+        };
+    }
+
+    @Benchmark
+    public void repairCycle() {
+        String rocket = fleet.assignedRockets[nextAssigned];
+        nextAssigned = (nextAssigned + 1) % fleet.assignedRockets.length;
+        fleet.managementService.changeRocketStatus(rocket, RocketStatus.IN_REPAIR);
+        fleet.managementService.changeRocketStatus(rocket, RocketStatus.IN_SPACE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChangeRocketStatusBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
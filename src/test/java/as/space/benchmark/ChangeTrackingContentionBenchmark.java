@@ -0,0 +1,111 @@
+package as.space.benchmark;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Every save of the in-memory repositories records a change for findChangedSince. Writers of different rockets and
+// missions should not wait for each other there, compare the throughput of one writer with that of many.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeTrackingContentionBenchmark {
+    private static final int ROCKETS_PER_WRITER = 10_000;
+    private static final int MISSIONS_PER_WRITER = 100;
+
+    private final AtomicInteger nextWriter = new AtomicInteger();
+    private InMemoryRocketRepository rocketRepository;
+    private InMemoryMissionRepository missionRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rocketRepository = new InMemoryRocketRepository();
+        missionRepository = new InMemoryMissionRepository();
+    }
+
+    // rockets and missions of one writer, no two writers change the same record
+    @State(Scope.Thread)
+    public static class Writer {
+        private Rocket[] rockets;
+        private String[] missions;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ChangeTrackingContentionBenchmark benchmark) {
+            int writer = benchmark.nextWriter.getAndIncrement();
+            rockets = new Rocket[ROCKETS_PER_WRITER];
+            for (int i = 0; i < ROCKETS_PER_WRITER; i++) {
+                rockets[i] = new Rocket("Dragon " + writer + "-" + i, RocketStatus.IN_SPACE, null);
+                benchmark.rocketRepository.save(rockets[i]);
+            }
+            missions = new String[MISSIONS_PER_WRITER];
+            for (int i = 0; i < MISSIONS_PER_WRITER; i++) {
+                missions[i] = "Mission " + writer + "-" + i;
+                benchmark.missionRepository.save(new Mission(missions[i], MissionStatus.SCHEDULED, 0, 0, 0));
+            }
+        }
+
+        private int next(int length) {
+            next = (next + 1) % length;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void saveRocketSingleWriter(Writer writer) {
+        saveRocket(writer);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void saveRocketConcurrentWriters(Writer writer) {
+        saveRocket(writer);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void updateMissionCountersSingleWriter(Writer writer) {
+        updateMissionCounters(writer);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void updateMissionCountersConcurrentWriters(Writer writer) {
+        updateMissionCounters(writer);
+    }
+
+    private void saveRocket(Writer writer) {
+        int i = writer.next(ROCKETS_PER_WRITER);
+        Rocket rocket = writer.rockets[i];
+        RocketStatus status = rocket.status() == RocketStatus.IN_SPACE ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE;
+        writer.rockets[i] = new Rocket(rocket.name(), status, null, rocket.version() + 1);
+        rocketRepository.save(writer.rockets[i]);
+    }
+
+    private void updateMissionCounters(Writer writer) {
+        // the rocket count stays the same, so the mission keeps its place in the report order
+        missionRepository.updateCounters(writer.missions[writer.next(MISSIONS_PER_WRITER)], 0, 0, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChangeTrackingContentionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package as.space.benchmark;
+
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import as.space.service.ManagementService;
+import as.space.service.MissionService;
+import as.space.service.ReportService;
+import as.space.service.RocketService;
+
+import java.util.Arrays;
+import java.util.List;
+
+class Fleet {
+    final RocketRepository rocketRepository;
+    final MissionRepository missionRepository = new InMemoryMissionRepository();
+    final RocketService rocketService;
+    final MissionService missionService = new MissionService(missionRepository);
+    final ManagementService managementService;
+    final ReportService reportService;
+
+    final String[] missions;
+    // rockets assigned to missions, grouped by mission
+    final String[] assignedRockets;
+    // rockets on ground, not assigned to any mission
+    final String[] freeRockets;
+
+    Fleet(int rockets, int rocketsPerMission, int freeRocketCount) {
+        this(new InMemoryRocketRepository(), rockets, rocketsPerMission, freeRocketCount);
+    }
+
+    Fleet(RocketRepository rocketRepository, int rockets, int rocketsPerMission, int freeRocketCount) {
+        this.rocketRepository = rocketRepository;
+        rocketService = new RocketService(rocketRepository);
+        managementService = new ManagementService(rocketRepository, missionRepository);
+        reportService = new ReportService(rocketRepository, missionRepository);
+        int missionCount = Math.max(1, rockets / rocketsPerMission);
+        missions = new String[missionCount];
+        assignedRockets = new String[rockets];
+        freeRockets = new String[freeRocketCount];
+
+        for (int i = 0; i < missionCount; i++) {
+            missions[i] = "Mission " + i;
+            missionService.createNewMission(missions[i]);
+        }
+        for (int i = 0; i < rockets; i++) {
+            assignedRockets[i] = "Dragon " + i;
+            rocketService.createNewRocket(assignedRockets[i]);
+        }
+        for (int i = 0; i < freeRocketCount; i++) {
+            freeRockets[i] = "Free Dragon " + i;
+            rocketService.createNewRocket(freeRockets[i]);
+        }
+        for (int i = 0; i < missionCount; i++) {
+            int from = i * rockets / missionCount;
+            int to = (i + 1) * rockets / missionCount;
+            List<String> missionRockets = Arrays.asList(assignedRockets).subList(from, to);
+            managementService.assignRocketsToMission(missionRockets, missions[i]);
+        }
+    }
+}
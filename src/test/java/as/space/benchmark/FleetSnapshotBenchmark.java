@@ -0,0 +1,77 @@
+package as.space.benchmark;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.FleetSnapshot;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Startup from a snapshot of a large fleet. The loaded fleet stays live until the next load, run with a heap that
+// holds two of them, otherwise the time is mostly collections copying the fleet.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FleetSnapshotBenchmark {
+    private static final int ROCKETS = 2_000_000;
+    private static final int ROCKETS_PER_MISSION = 100;
+
+    private Path directory;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("as-space-snapshot");
+        snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository(ROCKETS);
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        List<Mission> missions = new ArrayList<>();
+        for (int i = 0; i < ROCKETS / ROCKETS_PER_MISSION; i++) {
+            missions.add(new Mission("Mission " + i, MissionStatus.IN_PROGRESS, ROCKETS_PER_MISSION, ROCKETS_PER_MISSION, 0));
+        }
+        missionRepository.saveAll(missions);
+        List<Rocket> rockets = new ArrayList<>(ROCKETS);
+        for (int i = 0; i < ROCKETS; i++) {
+            rockets.add(new Rocket("Dragon " + i, RocketStatus.IN_SPACE, "Mission " + i / ROCKETS_PER_MISSION));
+        }
+        rocketRepository.load(rockets);
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public InMemoryRocketRepository openAndLoad() throws IOException {
+        FleetSnapshot snapshot = FleetSnapshot.open(snapshotFile);
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository(snapshot.rocketCount());
+        snapshot.loadInto(rocketRepository, new InMemoryMissionRepository(snapshot.missionCount()));
+        return rocketRepository;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FleetSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package as.space.benchmark;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.JournaledRocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournaledRocketRepositoryBenchmark {
+    private Path directory;
+    private JournaledRocketRepository repository;
+    private final AtomicInteger nextRocket = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("as-space-journal");
+        repository = new JournaledRocketRepository(directory.resolve("rockets.journal"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        Files.deleteIfExists(directory.resolve("rockets.journal"));
+        Files.deleteIfExists(directory);
+    }
+
+    // concurrent writers share fsyncs, compare with the single threaded run to see the effect of group commit
+    @Benchmark
+    @Threads(1)
+    public void saveSingleWriter() {
+        save();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void saveConcurrentWriters() {
+        save();
+    }
+
+    private void save() {
+        repository.save(new Rocket("Dragon " + nextRocket.incrementAndGet(), RocketStatus.ON_GROUND, null));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JournaledRocketRepositoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
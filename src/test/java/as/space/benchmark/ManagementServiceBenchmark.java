@@ -0,0 +1,109 @@
+package as.space.benchmark;
+
+import as.space.model.RocketStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManagementServiceBenchmark {
+    private static final int FREE_ROCKETS = 1000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rockets;
+
+    @Param({"10", "1000"})
+    private int rocketsPerMission;
+
+    private Fleet fleet;
+    private int nextFree;
+    private int nextAssigned;
+    private int nextMission;
+    private int finishedMissions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new Fleet(rockets, rocketsPerMission, Math.max(FREE_ROCKETS, rocketsPerMission));
+    }
+
+    @Benchmark
+    public void assignAndReleaseRocket() {
+        String rocket = nextFreeRocket();
+        fleet.managementService.assignRocketToMission(rocket, nextMission());
+        fleet.managementService.changeRocketStatus(rocket, RocketStatus.ON_GROUND);
+    }
+
+    @Benchmark
+    public void assignAndReleaseRocketBatch() {
+        String mission = nextMission();
+        List<String> rocketBatch = nextFreeRockets(BATCH_SIZE);
+        fleet.managementService.assignRocketsToMission(rocketBatch, mission);
+        for (String rocket : rocketBatch) {
+            fleet.managementService.changeRocketStatus(rocket, RocketStatus.ON_GROUND);
+        }
+    }
+
+    @Benchmark
+    public void changeRocketStatusRepairCycle() {
+        String rocket = fleet.assignedRockets[nextAssigned];
+        nextAssigned = (nextAssigned + 1) % fleet.assignedRockets.length;
+        fleet.managementService.changeRocketStatus(rocket, RocketStatus.IN_REPAIR);
+        fleet.managementService.changeRocketStatus(rocket, RocketStatus.IN_SPACE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class MissionToFinish {
+        private String mission;
+
+        // invocation level setup is acceptable here, finishing a mission is far slower than the setup overhead
+        @Setup(Level.Invocation)
+        public void setUp(ManagementServiceBenchmark benchmark) {
+            mission = "Finished Mission " + benchmark.finishedMissions++;
+            benchmark.fleet.missionService.createNewMission(mission);
+            benchmark.fleet.managementService.assignRocketsToMission(benchmark.nextFreeRockets(benchmark.rocketsPerMission), mission);
+        }
+    }
+
+    @Benchmark
+    public void finishMission(MissionToFinish missionToFinish) {
+        fleet.managementService.finishMission(missionToFinish.mission);
+    }
+
+    private String nextMission() {
+        nextMission = (nextMission + 1) % fleet.missions.length;
+        return fleet.missions[nextMission];
+    }
+
+    private String nextFreeRocket() {
+        nextFree = (nextFree + 1) % fleet.freeRockets.length;
+        return fleet.freeRockets[nextFree];
+    }
+
+    private List<String> nextFreeRockets(int count) {
+        if (nextFree + count > fleet.freeRockets.length) {
+            nextFree = 0;
+        }
+        List<String> rockets = Arrays.asList(fleet.freeRockets).subList(nextFree, nextFree + count);
+        nextFree += count;
+        return rockets;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ManagementServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package as.space.benchmark;
+
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.repository.InMemoryMissionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissionRepositoryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int missions;
+
+    private InMemoryMissionRepository repository;
+    private Mission[] missionRecords;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryMissionRepository();
+        missionRecords = new Mission[missions];
+        for (int i = 0; i < missions; i++) {
+            int rockets = i % 50;
+            missionRecords[i] = new Mission("Mission " + i, MissionStatus.IN_PROGRESS, rockets, rockets, 0);
+            repository.save(missionRecords[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Mission> getAllSorted() {
+        return repository.getAllSorted();
+    }
+
+    @Benchmark
+    public List<Mission> getTop50() {
+        return repository.getSorted(0, 50);
+    }
+
+    @Benchmark
+    public Optional<Mission> findByName() {
+        return repository.findByName(missionRecords[nextIndex()].name());
+    }
+
+    @Benchmark
+    public boolean compareAndSaveCounterChange() {
+        int index = nextIndex();
+        Mission mission = missionRecords[index];
+        int delta = mission.allRocketsCnt() > 0 ? -1 : 1;
+        Mission updated = new Mission(mission.name(), mission.status(), mission.allRocketsCnt() + delta,
+                mission.inSpaceCnt() + delta, mission.inRepairCnt(), mission.version() + 1);
+        missionRecords[index] = updated;
+        return repository.compareAndSave(mission.version(), updated);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % missions;
+        return next;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MissionRepositoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package as.space.benchmark;
+
+import as.space.report.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportEncoderBenchmark {
+
+    @Param({"100000"})
+    private int rockets;
+
+    @Param({"10", "1000"})
+    private int rocketsPerMission;
+
+    @Param({"text", "json", "csv", "binary"})
+    private String format;
+
+    private Fleet fleet;
+    private ReportEncoder encoder;
+    private final DiscardingChannel channel = new DiscardingChannel();
+    private ReportOutput output;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new Fleet(rockets, rocketsPerMission, 0);
+        encoder = switch (format) {
+            case "json" -> new JsonReportEncoder();
+            case "csv" -> new CsvReportEncoder();
+            case "binary" -> new BinaryReportEncoder();
+            default -> new TextReportEncoder();
+        };
+        output = new ReportOutput(channel, ByteBuffer.allocateDirect(64 * 1024));
+    }
+
+    @Benchmark
+    public long encodeReport() throws IOException {
+        fleet.reportService.generateReport(encoder, output);
+        return channel.written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportEncoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package as.space.benchmark;
+
+import as.space.model.FleetDelta;
+import as.space.model.FleetVersion;
+import as.space.model.RocketStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rockets;
+
+    @Param({"10", "1000"})
+    private int rocketsPerMission;
+
+    private Fleet fleet;
+    private final DiscardingChannel channel = new DiscardingChannel();
+    private FleetVersion version;
+    private int changed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new Fleet(rockets, rocketsPerMission, 0);
+        version = fleet.reportService.fleetVersion();
+    }
+
+    @Benchmark
+    public String generateReport() {
+        return fleet.reportService.generateReport();
+    }
+
+    @Benchmark
+    public long generateReportToChannel() throws IOException {
+        fleet.reportService.generateReport(channel);
+        return channel.written;
+    }
+
+    // the monitoring case, a few rockets change between two reports
+    @Benchmark
+    public FleetDelta generateReportSince() {
+        for (int i = 0; i < 10; i++) {
+            String rocket = fleet.assignedRockets[changed++ % rockets];
+            RocketStatus status = fleet.rocketRepository.findStatus(rocket);
+            fleet.managementService.changeRocketStatus(rocket, status == RocketStatus.IN_SPACE ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE);
+        }
+        FleetDelta delta = fleet.reportService.generateReportSince(version);
+        version = delta.version();
+        return delta;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
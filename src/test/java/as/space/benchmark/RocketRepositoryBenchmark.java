@@ -0,0 +1,121 @@
+package as.space.benchmark;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.ColumnarRocketRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.OffHeapRocketRepository;
+import as.space.repository.RocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RocketRepositoryBenchmark {
+
+    @Param({"1000", "200000", "1000000"})
+    private int rockets;
+
+    @Param({"100", "1000"})
+    private int missions;
+
+    @Param({"inMemory", "columnar", "offHeap"})
+    private String implementation;
+
+    private RocketRepository repository;
+    // copy of the fleet used to reproduce the former full-scan lookup
+    private Map<String, Rocket> fleet;
+    private String[] missionNames;
+    private Rocket[] rocketRecords;
+    private int next;
+    private int nextRocket;
+
+    @Setup
+    public void setUp() {
+        repository = switch (implementation) {
+            case "columnar" -> new ColumnarRocketRepository();
+            case "offHeap" -> new OffHeapRocketRepository();
+            default -> new InMemoryRocketRepository();
+        };
+        fleet = new HashMap<>();
+        missionNames = new String[missions];
+        rocketRecords = new Rocket[rockets];
+        for (int i = 0; i < missions; i++) {
+            missionNames[i] = "Mission " + i;
+        }
+        for (int i = 0; i < rockets; i++) {
+            Rocket rocket = new Rocket("Dragon " + i, RocketStatus.IN_SPACE, missionNames[i % missions]);
+            repository.save(rocket);
+            fleet.put(rocket.name(), rocket);
+            rocketRecords[i] = rocket;
+        }
+    }
+
+    @Benchmark
+    public List<Rocket> findByMissionIndexed() {
+        return repository.findByMission(nextMission());
+    }
+
+    @Benchmark
+    public List<Rocket> findByMissionFullScan() {
+        String mission = nextMission();
+        return fleet.values().stream()
+                .filter(el -> Objects.equals(el.mission(), mission))
+                .sorted(Comparator.comparing(Rocket::name))
+                .toList();
+    }
+
+    @Benchmark
+    public Optional<Rocket> findByName() {
+        return repository.findByName(nextRocket().name());
+    }
+
+    @Benchmark
+    public boolean compareAndSaveStatusChange() {
+        Rocket rocket = rocketRecords[nextRocket];
+        Rocket updated = withFlippedStatus(rocket, rocket.version() + 1);
+        return repository.compareAndSave(rocket.version(), updated);
+    }
+
+    @Benchmark
+    public void saveStatusChange() {
+        Rocket rocket = rocketRecords[nextRocket];
+        repository.save(withFlippedStatus(rocket, rocket.version() + 1));
+    }
+
+    private Rocket nextRocket() {
+        Rocket rocket = rocketRecords[nextRocket];
+        nextRocket = (nextRocket + 1) % rockets;
+        return rocket;
+    }
+
+    private Rocket withFlippedStatus(Rocket rocket, long version) {
+        RocketStatus newStatus = rocket.status() == RocketStatus.IN_SPACE ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE;
+        Rocket updated = new Rocket(rocket.name(), newStatus, rocket.mission(), version);
+        rocketRecords[nextRocket] = updated;
+        nextRocket = (nextRocket + 1) % rockets;
+        return updated;
+    }
+
+    private String nextMission() {
+        next = (next + 1) % missions;
+        return missionNames[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RocketRepositoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
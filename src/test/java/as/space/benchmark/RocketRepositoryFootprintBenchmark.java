@@ -0,0 +1,81 @@
+package as.space.benchmark;
+
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.ColumnarRocketRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.OffHeapRocketRepository;
+import as.space.repository.RocketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+// Reports the heap retained by a loaded repository as the bytesPerRocket secondary result. It is measured in a single
+// iteration, because event counters add up over iterations. Mission names are created per rocket, as they arrive from
+// callers or the journal.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RocketRepositoryFootprintBenchmark {
+
+    @Param({"1000000"})
+    private int rockets;
+
+    @Param({"1000"})
+    private int missions;
+
+    @Param({"inMemory", "columnar", "offHeap"})
+    private String implementation;
+
+    private RocketRepository repository;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long bytesPerRocket;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = null;
+    }
+
+    @Benchmark
+    public RocketRepository load(Footprint footprint) {
+        long before = usedHeap();
+        repository = switch (implementation) {
+            case "columnar" -> new ColumnarRocketRepository();
+            case "offHeap" -> new OffHeapRocketRepository();
+            default -> new InMemoryRocketRepository();
+        };
+        for (int i = 0; i < rockets; i++) {
+            repository.save(new Rocket("Dragon " + i, RocketStatus.IN_SPACE, "Mission " + i % missions));
+        }
+        footprint.bytesPerRocket = (usedHeap() - before) / rockets;
+        return repository;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RocketRepositoryFootprintBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package as.space.feed;
+
+import as.space.TestData;
+import as.space.model.MissionStatus;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedTest {
+
+    @Test
+    void shouldDeliverChangesInOrder() {
+        ChangeFeed feed = new ChangeFeed();
+        ChangeSubscription subscription = feed.subscribe();
+
+        feed.rocketAssigned(TestData.RED_DRAGON, TestData.MARS, RocketStatus.ON_GROUND, RocketStatus.IN_SPACE);
+        feed.missionStatusChanged(TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+        feed.rocketStatusChanged(TestData.RED_DRAGON, TestData.MARS, RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR);
+        feed.missionFinished(TestData.MARS, MissionStatus.PENDING, 1);
+
+        List<FleetChange> changes = new ArrayList<>();
+        assertEquals(4, subscription.poll(changes::add));
+        assertEquals(List.of(
+                new FleetChange.RocketAssigned(0, TestData.RED_DRAGON, TestData.MARS, RocketStatus.ON_GROUND, RocketStatus.IN_SPACE),
+                new FleetChange.MissionStatusChanged(1, TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS),
+                new FleetChange.RocketStatusChanged(2, TestData.RED_DRAGON, TestData.MARS, RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR),
+                new FleetChange.MissionFinished(3, TestData.MARS, MissionStatus.PENDING, 1)), changes);
+        assertEquals(0, subscription.poll(changes::add));
+        assertEquals(0, subscription.missed());
+    }
+
+    @Test
+    void shouldDeliverChangesToEverySubscriber() {
+        ChangeFeed feed = new ChangeFeed();
+        feed.missionStatusChanged(TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+        ChangeSubscription first = feed.subscribe();
+        feed.missionStatusChanged(TestData.MOON, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+        ChangeSubscription second = feed.subscribe();
+        feed.missionStatusChanged(TestData.VENUS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+
+        List<FleetChange> firstChanges = new ArrayList<>();
+        List<FleetChange> secondChanges = new ArrayList<>();
+        first.poll(firstChanges::add);
+        second.poll(secondChanges::add);
+
+        assertEquals(2, firstChanges.size());
+        assertEquals(1, firstChanges.get(0).sequence());
+        assertEquals(1, secondChanges.size());
+        assertEquals(2, secondChanges.get(0).sequence());
+    }
+
+    @Test
+    void shouldLimitChangesPerPoll() {
+        ChangeFeed feed = new ChangeFeed();
+        ChangeSubscription subscription = feed.subscribe();
+        for (int i = 0; i < 5; i++) {
+            feed.missionStatusChanged(TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+        }
+
+        List<FleetChange> changes = new ArrayList<>();
+        assertEquals(2, subscription.poll(changes::add, 2));
+        assertEquals(3, subscription.poll(changes::add, 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), changes.stream().map(FleetChange::sequence).toList());
+    }
+
+    @Test
+    void shouldCountOverwrittenChangesOfSlowSubscriber() {
+        ChangeFeed feed = new ChangeFeed(4);
+        ChangeSubscription subscription = feed.subscribe();
+        for (int i = 0; i < 10; i++) {
+            feed.missionStatusChanged(TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS);
+        }
+
+        List<FleetChange> changes = new ArrayList<>();
+        assertEquals(4, subscription.poll(changes::add));
+        assertEquals(6, subscription.missed());
+        assertEquals(List.of(6L, 7L, 8L, 9L), changes.stream().map(FleetChange::sequence).toList());
+    }
+
+    @Test
+    void shouldDeliverEveryChangeOfConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int changesPerProducer = 10_000;
+        ChangeFeed feed = new ChangeFeed(producers * changesPerProducer);
+        ChangeSubscription subscription = feed.subscribe();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String rocket = "Dragon " + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < changesPerProducer; i++) {
+                    feed.rocketStatusChanged(rocket, null, RocketStatus.ON_GROUND, RocketStatus.IN_REPAIR);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        List<FleetChange> changes = new ArrayList<>();
+        while (changes.size() < producers * changesPerProducer) {
+            subscription.poll(changes::add);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, subscription.missed());
+        for (int i = 0; i < changes.size(); i++) {
+            FleetChange.RocketStatusChanged change = (FleetChange.RocketStatusChanged) changes.get(i);
+            assertEquals(i, change.sequence());
+            assertEquals(RocketStatus.IN_REPAIR, change.toStatus());
+        }
+    }
+}
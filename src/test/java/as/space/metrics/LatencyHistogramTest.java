@@ -0,0 +1,56 @@
+package as.space.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void shouldReturnZeroWhenNothingRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.valueAtPercentile(99));
+    }
+
+    @Test
+    void shouldKeepSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 20; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(20, histogram.count());
+        assertEquals(10, histogram.valueAtPercentile(50));
+        assertEquals(20, histogram.valueAtPercentile(100));
+        assertEquals(1, histogram.valueAtPercentile(0));
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(1_000_000, histogram.count());
+        assertEquals(1_000_000_000, histogram.max());
+        assertEquals(500_000_000, histogram.valueAtPercentile(50), 500_000_000 * 0.04);
+        assertEquals(990_000_000, histogram.valueAtPercentile(99), 990_000_000 * 0.04);
+        assertEquals(1_000_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void shouldRecordExtremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+    }
+}
@@ -0,0 +1,117 @@
+package as.space.report;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportEncoderTest {
+    private static final Mission MARS = new Mission(TestData.MARS, MissionStatus.PENDING, 2, 1, 1);
+    private static final Mission MOON = new Mission(TestData.MOON, MissionStatus.SCHEDULED, 0, 0, 0);
+    private static final Rocket RED_DRAGON = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
+    private static final Rocket QUOTED_DRAGON = new Rocket("Dragon \"Quote\", Jr.", RocketStatus.IN_REPAIR, TestData.MARS);
+
+    @Test
+    void shouldEncodeJson() throws IOException {
+        assertEquals("{\"missions\":[{\"name\":\"Mars\",\"status\":\"PENDING\",\"dragons\":2,\"inSpace\":1,\"inRepair\":1,\"rockets\":[" +
+                        "{\"name\":\"Red Dragon\",\"status\":\"IN_SPACE\"},{\"name\":\"Dragon \\\"Quote\\\", Jr.\",\"status\":\"IN_REPAIR\"}]}," +
+                        "{\"name\":\"Moon\",\"status\":\"SCHEDULED\",\"dragons\":0,\"inSpace\":0,\"inRepair\":0,\"rockets\":[]}]}\n",
+                encodeToString(new JsonReportEncoder()));
+    }
+
+    @Test
+    void shouldEscapeControlCharactersInJson() throws IOException {
+        Mission mission = new Mission("Line\nBreak\u0001 \\ é", MissionStatus.SCHEDULED, 0, 0, 0);
+        String json = encodeToString(new JsonReportEncoder(), List.of(mission), List.of(List.of()));
+
+        assertTrue(json.contains("\"name\":\"Line\\nBreak\\u0001 \\\\ é\""), json);
+    }
+
+    @Test
+    void shouldEncodeCsv() throws IOException {
+        assertEquals("mission,mission_status,dragons,rocket,rocket_status\r\n" +
+                        "Mars,PENDING,2,Red Dragon,IN_SPACE\r\n" +
+                        "Mars,PENDING,2,\"Dragon \"\"Quote\"\", Jr.\",IN_REPAIR\r\n" +
+                        "Moon,SCHEDULED,0,,\r\n",
+                encodeToString(new CsvReportEncoder()));
+    }
+
+    @Test
+    void shouldEncodeBinary() throws IOException {
+        ByteBuffer report = ByteBuffer.wrap(encode(new BinaryReportEncoder(), List.of(MARS, MOON),
+                List.of(List.of(RED_DRAGON), List.of())));
+
+        assertEquals(BinaryReportEncoder.MAGIC, report.getInt());
+        assertEquals(BinaryReportEncoder.FORMAT_VERSION, report.get());
+        assertEquals(BinaryReportEncoder.MISSION, report.get());
+        assertEquals(TestData.MARS, getName(report));
+        assertEquals(MissionStatus.PENDING.ordinal(), report.get());
+        assertEquals(2, report.getInt());
+        assertEquals(1, report.getInt());
+        assertEquals(1, report.getInt());
+        assertEquals(1, report.getInt());
+        assertEquals(TestData.RED_DRAGON, getName(report));
+        assertEquals(RocketStatus.IN_SPACE.ordinal(), report.get());
+        assertEquals(BinaryReportEncoder.MISSION, report.get());
+        assertEquals(TestData.MOON, getName(report));
+        assertEquals(MissionStatus.SCHEDULED.ordinal(), report.get());
+        report.position(report.position() + 4 * Integer.BYTES);
+        assertEquals(BinaryReportEncoder.END, report.get());
+        assertFalse(report.hasRemaining());
+    }
+
+    @Test
+    void shouldEncodeMultiByteNamesThroughSmallBuffer() throws IOException {
+        Mission mission = new Mission("Mission é中🚀", MissionStatus.SCHEDULED, 0, 0, 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportOutput output = new ReportOutput(Channels.newChannel(bytes), ByteBuffer.allocate(8));
+        TextReportEncoder encoder = new TextReportEncoder();
+
+        encoder.beginMission(output, mission, 0, 0);
+        output.flush();
+
+        assertEquals("Mission é中🚀 - SCHEDULED - 0 dragons\n", bytes.toString(StandardCharsets.UTF_8));
+        assertEquals(bytes.size() - " - SCHEDULED - 0 dragons\n".length(), ReportOutput.utf8Length(mission.name()));
+    }
+
+    private static String encodeToString(ReportEncoder encoder) throws IOException {
+        return encodeToString(encoder, List.of(MARS, MOON), List.of(List.of(RED_DRAGON, QUOTED_DRAGON), List.of()));
+    }
+
+    private static String encodeToString(ReportEncoder encoder, List<Mission> missions, List<List<Rocket>> rockets) throws IOException {
+        return new String(encode(encoder, missions, rockets), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(ReportEncoder encoder, List<Mission> missions, List<List<Rocket>> rockets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportOutput output = new ReportOutput(Channels.newChannel(bytes), ByteBuffer.allocate(64));
+        encoder.beginReport(output);
+        for (int i = 0; i < missions.size(); i++) {
+            encoder.beginMission(output, missions.get(i), i, rockets.get(i).size());
+            for (int j = 0; j < rockets.get(i).size(); j++) {
+                encoder.rocket(output, missions.get(i), rockets.get(i).get(j), j);
+            }
+            encoder.endMission(output, missions.get(i));
+        }
+        encoder.endReport(output);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static String getName(ByteBuffer buffer) {
+        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,9 @@
+package as.space.repository;
+
+public class ColumnarRocketRepositoryTest extends RocketRepositoryContractTest {
+
+    @Override
+    protected RocketRepository createRepository() {
+        return new ColumnarRocketRepository();
+    }
+}
@@ -0,0 +1,148 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FleetSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreRocketsAndMissionsFromSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.PENDING, 2, 1, 1, 4);
+        Mission moonMission = new Mission(TestData.MOON, MissionStatus.SCHEDULED, 0, 0, 0);
+        Mission venusMission = new Mission(TestData.VENUS, MissionStatus.ENDED, 0, 0, 0, 7);
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 3);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2);
+        Rocket falconHeavyRocket = new Rocket(TestData.FALCON_HEAVY, RocketStatus.ON_GROUND, null, 5);
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        missionRepository.saveAll(List.of(marsMission, moonMission, venusMission));
+        rocketRepository.saveAll(List.of(redDragonRocket, blueDragonRocket, falconHeavyRocket));
+
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+        FleetSnapshot snapshot = FleetSnapshot.open(snapshotFile);
+        InMemoryRocketRepository restoredRocketRepository = new InMemoryRocketRepository(snapshot.rocketCount());
+        InMemoryMissionRepository restoredMissionRepository = new InMemoryMissionRepository(snapshot.missionCount());
+        snapshot.loadInto(restoredRocketRepository, restoredMissionRepository);
+
+        assertEquals(3, snapshot.missionCount());
+        assertEquals(3, snapshot.rocketCount());
+        assertEquals(List.of(marsMission, venusMission, moonMission), restoredMissionRepository.getAllSorted());
+        assertEquals(List.of(blueDragonRocket, redDragonRocket), restoredRocketRepository.findByMission(TestData.MARS));
+        assertEquals(List.of(falconHeavyRocket), restoredRocketRepository.findByMission(null));
+        assertEquals(Optional.of(redDragonRocket), restoredRocketRepository.findByName(TestData.RED_DRAGON));
+    }
+
+    @Test
+    void shouldReplaceExistingSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+        rocketRepository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null));
+
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+
+        assertEquals(1, FleetSnapshot.open(snapshotFile).rocketCount());
+        assertEquals(List.of(snapshotFile), Files.list(directory).toList());
+    }
+
+    @Test
+    void shouldRejectFileThatIsNotSnapshot() throws IOException {
+        Path file = directory.resolve("rockets.journal");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> FleetSnapshot.open(file));
+    }
+
+    @Test
+    void shouldWriteMissionCountersCountedFromRockets() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        // counters reserved for an assignment whose rocket is not saved yet
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.PENDING, 2, 0, 2, 3));
+        rocketRepository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 1));
+
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+        InMemoryMissionRepository restoredMissionRepository = new InMemoryMissionRepository();
+        FleetSnapshot.open(snapshotFile).loadInto(new InMemoryRocketRepository(), restoredMissionRepository);
+
+        assertEquals(List.of(new Mission(TestData.MARS, MissionStatus.PENDING, 1, 0, 1, 3)), restoredMissionRepository.getAllSorted());
+    }
+
+    @Test
+    void shouldWriteRocketsOfEndedMissionReleased() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0, 4));
+        rocketRepository.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1),
+                new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2)));
+
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+        InMemoryRocketRepository restoredRocketRepository = new InMemoryRocketRepository();
+        FleetSnapshot.open(snapshotFile).loadInto(restoredRocketRepository, new InMemoryMissionRepository());
+
+        assertEquals(List.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, null, 3),
+                new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 2)), restoredRocketRepository.findByMission(null));
+    }
+
+    @Test
+    void shouldRejectRocketAssignedToMissingMission() {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        rocketRepository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.VENUS, 1));
+
+        assertThrows(IOException.class, () -> FleetSnapshot.write(snapshotFile, rocketRepository, new InMemoryMissionRepository()));
+        assertFalse(Files.exists(snapshotFile));
+    }
+
+    @Test
+    void shouldRejectSnapshotWithCountersNotMatchingRockets() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 1));
+        rocketRepository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1));
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+
+        // all rockets counter of the mission, after the header, the mission name and its status
+        byte[] content = Files.readAllBytes(snapshotFile);
+        ByteBuffer.wrap(content).putInt(4 * Integer.BYTES + Short.BYTES + TestData.MARS.length() + 1, 5);
+        Files.write(snapshotFile, content);
+
+        assertThrows(IOException.class, () -> FleetSnapshot.open(snapshotFile));
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        rocketRepository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null));
+        FleetSnapshot.write(snapshotFile, rocketRepository, new InMemoryMissionRepository());
+
+        byte[] content = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(content, content.length - 3));
+
+        assertThrows(IOException.class, () -> FleetSnapshot.open(snapshotFile));
+    }
+}
@@ -2,12 +2,16 @@ package as.space.repository;
 
 import as.space.TestData;
 import as.space.model.Mission;
+import as.space.model.MissionCursor;
 import as.space.model.MissionStatus;
+import as.space.model.MissionTransition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +36,17 @@ public class InMemoryMissionRepositoryTest {
         assertEquals(MissionStatus.SCHEDULED, missionFound.get().status());
     }
 
+    @Test
+    void shouldSaveIfAbsentOnlyWhenNoMissionHasTheName() {
+        Mission mission = new Mission(TestData.MARS, MissionStatus.SCHEDULED,0,0,0);
+        Mission other = new Mission(TestData.MARS, MissionStatus.ENDED,0,0,0);
+
+        assertTrue(repository.saveIfAbsent(mission));
+        assertFalse(repository.saveIfAbsent(other));
+        assertEquals(Optional.of(mission), repository.findByName(TestData.MARS));
+        assertEquals(List.of(mission), repository.getAllSorted());
+    }
+
     @Test
     void shouldReturnEmptyWhenMissionNotFound() {
         Optional<Mission> missionFound = repository.findByName(TestData.MARS);
@@ -67,4 +82,154 @@ public class InMemoryMissionRepositoryTest {
         assertEquals(TestData.MARS, missions.get(1).name());
         assertEquals(TestData.ZEUS, missions.get(2).name());
     }
+
+    @Test
+    void shouldKeepSortOrderWhenMissionIsUpdated() {
+        repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS,2,2,0));
+        repository.save(new Mission(TestData.VENUS, MissionStatus.IN_PROGRESS,1,1,0));
+        repository.save(new Mission(TestData.ZEUS, MissionStatus.SCHEDULED,0,0,0));
+
+        repository.save(new Mission(TestData.ZEUS, MissionStatus.IN_PROGRESS,3,3,0));
+        repository.save(new Mission(TestData.MARS, MissionStatus.PENDING,2,1,1));
+
+        List<Mission> missions = repository.getAllSorted();
+        assertEquals(3, missions.size());
+        assertEquals(TestData.ZEUS, missions.get(0).name());
+        assertEquals(TestData.MARS, missions.get(1).name());
+        assertEquals(MissionStatus.PENDING, missions.get(1).status());
+        assertEquals(TestData.VENUS, missions.get(2).name());
+    }
+
+    @Test
+    void shouldCompareAndSaveOnlyWhenVersionMatches() {
+        Mission mission = new Mission(TestData.MARS, MissionStatus.SCHEDULED,0,0,0,5);
+        Mission staleUpdate = new Mission(TestData.MARS, MissionStatus.IN_PROGRESS,1,1,0,5);
+        Mission update = new Mission(TestData.MARS, MissionStatus.PENDING,1,0,1,6);
+        repository.save(mission);
+
+        assertFalse(repository.compareAndSave(4, staleUpdate));
+        assertEquals(Optional.of(mission), repository.findByName(TestData.MARS));
+
+        assertTrue(repository.compareAndSave(5, update));
+        assertEquals(Optional.of(update), repository.findByName(TestData.MARS));
+        assertEquals(List.of(update), repository.getAllSorted());
+    }
+
+    @Test
+    void shouldNotCompareAndSaveMissingMission() {
+        Mission mission = new Mission(TestData.MARS, MissionStatus.SCHEDULED,0,0,0,1);
+
+        assertFalse(repository.compareAndSave(0, mission));
+        assertFalse(repository.findByName(TestData.MARS).isPresent());
+    }
+
+    @Test
+    void shouldSaveAllAndFindAllMissionsByName() {
+        Mission mission1 = new Mission(TestData.MARS, MissionStatus.PENDING,3,2,1);
+        Mission mission2 = new Mission(TestData.VENUS, MissionStatus.IN_PROGRESS,1,1,0);
+        Mission mission3 = new Mission(TestData.ZEUS, MissionStatus.SCHEDULED,0,0,0);
+
+        repository.saveAll(List.of(mission1, mission2, mission3));
+
+        List<Mission> missionsFound = repository.findAllByName(List.of(TestData.ZEUS, TestData.MOON, TestData.MARS));
+        assertEquals(List.of(mission3, mission1), missionsFound);
+        assertEquals(List.of(mission1, mission2, mission3), repository.getAllSorted());
+    }
+
+    @Test
+    void shouldUpdateCountersAndDeriveStatus() {
+        repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 4));
+        repository.save(new Mission(TestData.VENUS, MissionStatus.IN_PROGRESS, 2, 2, 0));
+
+        assertEquals(MissionTransition.of(MissionStatus.IN_PROGRESS, MissionStatus.PENDING), repository.updateCounters(TestData.MARS, 2, 1, 1));
+        assertEquals(Optional.of(new Mission(TestData.MARS, MissionStatus.PENDING, 3, 2, 1, 5)), repository.findByName(TestData.MARS));
+        assertEquals(List.of(TestData.MARS, TestData.VENUS), repository.getAllSorted().stream().map(Mission::name).toList());
+
+        assertEquals(MissionTransition.of(MissionStatus.PENDING, MissionStatus.SCHEDULED), repository.updateCounters(TestData.MARS, -3, -2, -1));
+        assertEquals(Optional.of(new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0, 6)), repository.findByName(TestData.MARS));
+        assertEquals(List.of(TestData.VENUS, TestData.MARS), repository.getAllSorted().stream().map(Mission::name).toList());
+    }
+
+    @Test
+    void shouldNotUpdateCountersOfEndedOrMissingMission() {
+        Mission endedMission = new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0, 2);
+        repository.save(endedMission);
+
+        assertNull(repository.updateCounters(TestData.MARS, 1, 1, 0));
+        assertNull(repository.updateCounters(TestData.VENUS, 1, 1, 0));
+        assertEquals(Optional.of(endedMission), repository.findByName(TestData.MARS));
+    }
+
+    @Test
+    void shouldReturnPageOfSortedMissions() {
+        repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS,3,3,0));
+        repository.save(new Mission(TestData.VENUS, MissionStatus.IN_PROGRESS,2,2,0));
+        repository.save(new Mission(TestData.ZEUS, MissionStatus.IN_PROGRESS,1,1,0));
+        repository.save(new Mission(TestData.MOON, MissionStatus.SCHEDULED,0,0,0));
+
+        assertEquals(List.of(TestData.MARS, TestData.VENUS), repository.getSorted(0, 2).stream().map(Mission::name).toList());
+        assertEquals(List.of(TestData.ZEUS, TestData.MOON), repository.getSorted(2, 5).stream().map(Mission::name).toList());
+        assertEquals(List.of(), repository.getSorted(4, 5));
+        assertThrows(IllegalArgumentException.class, () -> repository.getSorted(-1, 5));
+    }
+
+    @Test
+    void shouldContinueAfterCursorWhenCursorMissionChanged() {
+        repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS,3,3,0));
+        repository.save(new Mission(TestData.VENUS, MissionStatus.IN_PROGRESS,2,2,0));
+        repository.save(new Mission(TestData.ZEUS, MissionStatus.IN_PROGRESS,1,1,0));
+
+        List<Mission> firstPage = repository.getSortedAfter(null, 2);
+        MissionCursor cursor = MissionCursor.after(firstPage.get(1));
+        repository.updateCounters(TestData.VENUS, 5, 5, 0);
+
+        assertEquals(List.of(TestData.MARS, TestData.VENUS), firstPage.stream().map(Mission::name).toList());
+        assertEquals(List.of(TestData.ZEUS), repository.getSortedAfter(cursor, 2).stream().map(Mission::name).toList());
+    }
+
+    @Test
+    void shouldFindMissionsChangedSinceVersion() {
+        repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0));
+        repository.save(new Mission(TestData.VENUS, MissionStatus.SCHEDULED, 0, 0, 0));
+        repository.save(new Mission(TestData.ZEUS, MissionStatus.SCHEDULED, 0, 0, 0));
+        long version = repository.changeVersion();
+
+        repository.updateCounters(TestData.ZEUS, 1, 1, 0);
+        assertFalse(repository.compareAndSave(5, new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0)));
+        assertTrue(repository.compareAndSave(0, new Mission(TestData.VENUS, MissionStatus.ENDED, 0, 0, 0, 1)));
+        repository.updateCounters(TestData.VENUS, 1, 1, 0);
+
+        assertEquals(3, version);
+        assertEquals(5, repository.changeVersion());
+        assertEquals(List.of(new Mission(TestData.ZEUS, MissionStatus.IN_PROGRESS, 1, 1, 0, 1),
+                new Mission(TestData.VENUS, MissionStatus.ENDED, 0, 0, 0, 1)), repository.findChangedSince(version));
+        assertEquals(List.of(), repository.findChangedSince(5));
+    }
+
+    @Test
+    void shouldListEachMissionOnceWhileItMoves() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            repository.save(new Mission("Mission " + i, MissionStatus.IN_PROGRESS, i, i, 0));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            // moves the mission across the whole order and back
+            while (!done.get()) {
+                repository.updateCounters("Mission 0", 200, 200, 0);
+                repository.updateCounters("Mission 0", -200, -200, 0);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 2000; i++) {
+                List<String> names = repository.getAllSorted().stream().map(Mission::name).toList();
+                assertEquals(names.size(), Set.copyOf(names).size());
+                List<String> page = repository.getSorted(0, 100).stream().map(Mission::name).toList();
+                assertEquals(page.size(), Set.copyOf(page).size());
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+    }
 }
@@ -3,81 +3,83 @@ package as.space.repository;
 import as.space.TestData;
 import as.space.model.Rocket;
 import as.space.model.RocketStatus;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-public class InMemoryRocketRepositoryTest {
-
-    private InMemoryRocketRepository repository;
-
-    @BeforeEach
-    void setUp() {
-        repository = new InMemoryRocketRepository();
+public class InMemoryRocketRepositoryTest extends RocketRepositoryContractTest {
 
+    @Override
+    protected RocketRepository createRepository() {
+        return new InMemoryRocketRepository();
     }
 
     @Test
-    void shouldSaveAndFindRocketByName() {
-        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
-
-        repository.save(rocket);
-        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
-
-        assertTrue(rocketFound.isPresent());
-        assertEquals(TestData.RED_DRAGON, rocketFound.get().name());
-        assertEquals(RocketStatus.ON_GROUND, rocketFound.get().status());
+    void shouldLoadRocketsIntoEmptyRepositoryAsOneChange() {
+        Rocket redDragon = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 3);
+        Rocket blueDragon = new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 1);
+        Rocket dragonXl = new Rocket(TestData.DRAGON_XL, RocketStatus.ON_GROUND, null, 2);
+
+        repository.load(List.of(redDragon, dragonXl, blueDragon));
+        repository.save(new Rocket(TestData.FALCON_HEAVY, RocketStatus.IN_SPACE, TestData.MARS));
+
+        assertEquals(Optional.of(redDragon), repository.findByName(TestData.RED_DRAGON));
+        assertEquals(List.of(TestData.BLUE_DRAGON, TestData.FALCON_HEAVY, TestData.RED_DRAGON),
+                repository.findByMission(TestData.MARS).stream().map(Rocket::name).toList());
+        assertEquals(List.of(dragonXl), repository.findByMission(null));
+        assertEquals(List.of(TestData.FALCON_HEAVY, TestData.RED_DRAGON),
+                repository.findByStatus(RocketStatus.IN_SPACE).stream().map(Rocket::name).toList());
+        assertEquals(1, repository.countByStatus(RocketStatus.IN_REPAIR));
+        assertEquals(2, repository.countByStatus(RocketStatus.IN_SPACE));
+        assertEquals(2, repository.changeVersion());
+        assertEquals(4, repository.findChangedSince(0).size());
+        assertEquals(List.of(TestData.FALCON_HEAVY), repository.findChangedSince(1).stream().map(Rocket::name).toList());
     }
 
     @Test
-    void shouldReturnEmptyWhenRocketNotFound() {
-        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
+    void shouldLoadOnlyIntoEmptyRepository() {
+        repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null));
 
-        assertFalse(rocketFound.isPresent());
+        assertThrows(IllegalStateException.class, () ->
+                repository.load(List.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null))));
     }
 
     @Test
-    void shouldOverwriteExistingRocket() {
-
-        Rocket first = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
-        Rocket second = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, null);
-
-        repository.save(first);
-        repository.save(second);
-
-        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
-
-        assertTrue(rocketFound.isPresent());
-        assertEquals(RocketStatus.IN_REPAIR, rocketFound.get().status());
-    }
-
-    @Test
-    void shouldReturnAllRocketsAssignedToMission() {
-        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
-        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
-        Rocket littleDragonRocket = new Rocket(TestData.LITTLE_DRAGON, RocketStatus.IN_SPACE, TestData.MOON);
-        Rocket falconHeavyRocket = new Rocket(TestData.FALCON_HEAVY, RocketStatus.ON_GROUND, null);
-        repository.save(redDragonRocket);
-        repository.save(blueDragonRocket);
-        repository.save(littleDragonRocket);
-        repository.save(falconHeavyRocket);
-
-        List<Rocket> rocketsMarsFound = repository.findByMission(TestData.MARS);
-        List<Rocket> rocketsMoonFound = repository.findByMission(TestData.MOON);
-        List<Rocket> rocketsNoMissionFound = repository.findByMission(null);
-        List<Rocket> rocketsVenusFound = repository.findByMission(TestData.VENUS);
-        assertEquals(2, rocketsMarsFound.size());
-        assertEquals(List.of(blueDragonRocket, redDragonRocket), rocketsMarsFound);
-        assertEquals(1, rocketsMoonFound.size());
-        assertEquals(List.of(littleDragonRocket), rocketsMoonFound);
-        assertEquals(1, rocketsNoMissionFound.size());
-        assertEquals(List.of(falconHeavyRocket), rocketsNoMissionFound);
-        assertTrue(rocketsVenusFound.isEmpty());
-        assertEquals(List.of(), rocketsVenusFound);
-
+    void shouldNotMissChangesOfConcurrentWriters() throws Exception {
+        int writers = 4;
+        int rocketsPerWriter = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < rocketsPerWriter; i++) {
+                    repository.save(new Rocket("Dragon " + writer + "-" + i, RocketStatus.ON_GROUND, null));
+                }
+            }));
+        }
+
+        // a reader that asks for the changes since the version it saw last has to see every rocket
+        Set<String> seen = new HashSet<>();
+        long version = 0;
+        while (!workers.stream().allMatch(Future::isDone)) {
+            long current = repository.changeVersion();
+            repository.findChangedSince(version).forEach(rocket -> seen.add(rocket.name()));
+            version = current;
+        }
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        repository.findChangedSince(version).forEach(rocket -> seen.add(rocket.name()));
+
+        assertEquals(writers * rocketsPerWriter, seen.size());
+        assertEquals(writers * rocketsPerWriter, repository.changeVersion());
     }
 }
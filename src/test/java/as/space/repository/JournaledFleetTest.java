@@ -0,0 +1,88 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledFleetTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecountCountersReservedForAssignmentThatWasNotJournaled() throws IOException {
+        Path rocketJournal = directory.resolve("rockets.journal");
+        Path missionJournal = directory.resolve("missions.journal");
+        // crash after the counters of Mars were reserved for Blue Dragon, before the rocket was saved
+        try (JournaledRocketRepository rockets = new JournaledRocketRepository(rocketJournal);
+             JournaledMissionRepository missions = new JournaledMissionRepository(missionJournal)) {
+            rockets.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1),
+                    new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null)));
+            missions.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 2, 2, 0, 2));
+        }
+
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            assertEquals(Optional.of(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 3)),
+                    fleet.missions().findByName(TestData.MARS));
+        }
+        // the correction is journaled
+        try (JournaledMissionRepository missions = new JournaledMissionRepository(missionJournal)) {
+            assertEquals(1, missions.findByName(TestData.MARS).orElseThrow().allRocketsCnt());
+        }
+    }
+
+    @Test
+    void shouldReleaseRocketsLeftAssignedToEndedMission() throws IOException {
+        Path rocketJournal = directory.resolve("rockets.journal");
+        Path missionJournal = directory.resolve("missions.journal");
+        // crash after Mars ended, before its rockets were released
+        try (JournaledRocketRepository rockets = new JournaledRocketRepository(rocketJournal);
+             JournaledMissionRepository missions = new JournaledMissionRepository(missionJournal)) {
+            rockets.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1),
+                    new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2)));
+            missions.save(new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0, 3));
+        }
+
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            assertEquals(List.of(), fleet.rockets().findByMission(TestData.MARS));
+            assertEquals(Optional.of(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 2)),
+                    fleet.rockets().findByName(TestData.RED_DRAGON));
+            assertEquals(Optional.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, null, 3)),
+                    fleet.rockets().findByName(TestData.BLUE_DRAGON));
+            assertEquals(Optional.of(new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0, 3)),
+                    fleet.missions().findByName(TestData.MARS));
+        }
+        try (JournaledRocketRepository rockets = new JournaledRocketRepository(rocketJournal)) {
+            assertEquals(List.of(), rockets.findByMission(TestData.MARS));
+        }
+    }
+
+    @Test
+    void shouldLeaveFleetInLineUnchanged() throws IOException {
+        Path rocketJournal = directory.resolve("rockets.journal");
+        Path missionJournal = directory.resolve("missions.journal");
+        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2);
+        Mission mission = new Mission(TestData.MARS, MissionStatus.PENDING, 1, 0, 1, 2);
+
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            fleet.missions().save(mission);
+            fleet.rockets().save(rocket);
+        }
+
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            assertEquals(List.of(rocket), fleet.rockets().findAll());
+            assertEquals(List.of(mission), fleet.missions().getAllSorted());
+        }
+    }
+}
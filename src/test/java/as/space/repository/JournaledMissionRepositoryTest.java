@@ -0,0 +1,128 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.MissionTransition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledMissionRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreMissionsFromJournal() throws IOException {
+        Path journalFile = directory.resolve("missions.journal");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.PENDING, 2, 1, 1, 2);
+        Mission moonMission = new Mission(TestData.MOON, MissionStatus.IN_PROGRESS, 3, 3, 0, 1);
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            repository.saveAll(List.of(new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0),
+                    new Mission(TestData.MOON, MissionStatus.SCHEDULED, 0, 0, 0)));
+            repository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 1));
+            assertTrue(repository.compareAndSave(1, marsMission));
+            assertFalse(repository.compareAndSave(3, new Mission(TestData.MOON, MissionStatus.ENDED, 0, 0, 0, 4)));
+            assertTrue(repository.compareAndSave(0, moonMission));
+        }
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            assertEquals(Optional.of(marsMission), repository.findByName(TestData.MARS));
+            assertEquals(List.of(moonMission, marsMission), repository.getAllSorted());
+        }
+    }
+
+    @Test
+    void shouldDropCorruptedEntry() throws IOException {
+        Path journalFile = directory.resolve("missions.journal");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0);
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            repository.save(marsMission);
+        }
+        // complete entry with a checksum that does not match its content
+        Files.write(journalFile, new byte[]{0, 0, 0, 2, 1, 2, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            assertEquals(List.of(marsMission), repository.getAllSorted());
+        }
+    }
+
+    @Test
+    void shouldRestoreUpdatedCounters() throws IOException {
+        Path journalFile = directory.resolve("missions.journal");
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            repository.save(new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0));
+            assertEquals(MissionTransition.of(MissionStatus.SCHEDULED, MissionStatus.PENDING), repository.updateCounters(TestData.MARS, 1, 0, 1));
+        }
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            assertEquals(Optional.of(new Mission(TestData.MARS, MissionStatus.PENDING, 1, 0, 1, 1)), repository.findByName(TestData.MARS));
+        }
+    }
+
+    @Test
+    void shouldNotApplyCounterUpdateThatIsNotDurable() throws IOException {
+        Path journalFile = directory.resolve("missions.journal");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0);
+        JournaledMissionRepository repository = new JournaledMissionRepository(journalFile);
+        repository.save(marsMission);
+        // the journal cannot be written after it is closed, so syncing the next entry fails
+        repository.close();
+
+        assertThrows(UncheckedIOException.class, () -> repository.updateCounters(TestData.MARS, 1, 1, 0));
+        assertEquals(Optional.of(marsMission), repository.findByName(TestData.MARS));
+    }
+
+    @Test
+    void shouldRestoreCompactedJournal() throws IOException {
+        Path journalFile = directory.resolve("missions.journal");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 3, 3, 0, 3);
+        Mission moonMission = new Mission(TestData.MOON, MissionStatus.SCHEDULED, 0, 0, 0);
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            repository.save(new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0));
+            for (int i = 0; i < 3; i++) {
+                repository.updateCounters(TestData.MARS, 1, 1, 0);
+            }
+            repository.compact();
+            assertEquals(2 * Integer.BYTES + RecordCodec.encode(marsMission).length, Files.size(journalFile));
+
+            repository.save(moonMission);
+        }
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            assertEquals(List.of(marsMission, moonMission), repository.getAllSorted());
+        }
+    }
+
+    @Test
+    void shouldStartFromSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        Path journalFile = directory.resolve("missions.journal");
+        Mission marsMission = new Mission(TestData.MARS, MissionStatus.SCHEDULED, 0, 0, 0, 2);
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        missionRepository.save(marsMission);
+        FleetSnapshot.write(snapshotFile, new InMemoryRocketRepository(), missionRepository);
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile, FleetSnapshot.open(snapshotFile))) {
+            assertEquals(List.of(marsMission), repository.getAllSorted());
+        }
+
+        try (JournaledMissionRepository repository = new JournaledMissionRepository(journalFile)) {
+            assertEquals(List.of(marsMission), repository.getAllSorted());
+        }
+    }
+}
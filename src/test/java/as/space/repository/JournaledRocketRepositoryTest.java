@@ -0,0 +1,187 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledRocketRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreRocketsFromJournal() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 2);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, null, 1);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 0));
+            repository.saveAll(List.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null, 0),
+                    new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1)));
+            assertTrue(repository.compareAndSave(1, redDragonRocket));
+            assertFalse(repository.compareAndSave(5, new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 6)));
+            assertTrue(repository.compareAndSave(0, blueDragonRocket));
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(Optional.of(redDragonRocket), repository.findByName(TestData.RED_DRAGON));
+            assertEquals(Optional.of(blueDragonRocket), repository.findByName(TestData.BLUE_DRAGON));
+            assertEquals(List.of(redDragonRocket), repository.findByMission(TestData.MARS));
+            assertEquals(List.of(blueDragonRocket), repository.findByMission(null));
+        }
+    }
+
+    @Test
+    void shouldDropTornEntryAndKeepAppending() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            repository.save(redDragonRocket);
+        }
+        // simulates a crash in the middle of writing the next entry
+        Files.write(journalFile, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(Optional.of(redDragonRocket), repository.findByName(TestData.RED_DRAGON));
+            repository.save(blueDragonRocket);
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(List.of(blueDragonRocket, redDragonRocket), repository.findByMission(null));
+        }
+    }
+
+    @Test
+    void shouldRestoreStatusSetInPlace() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1));
+            assertTrue(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.IN_REPAIR, TestData.MARS));
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(Optional.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2)), repository.findByName(TestData.RED_DRAGON));
+        }
+    }
+
+    @Test
+    void shouldRestoreStatusIndexFromJournal() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            repository.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS),
+                    new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null)));
+            repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.IN_REPAIR, TestData.MARS);
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(List.of(TestData.RED_DRAGON), repository.findByStatus(RocketStatus.IN_REPAIR).stream().map(Rocket::name).toList());
+            assertEquals(0, repository.countByStatus(RocketStatus.IN_SPACE));
+            assertEquals(1, repository.countByStatus(RocketStatus.ON_GROUND));
+        }
+    }
+
+    @Test
+    void shouldNotApplyChangeThatIsNotDurable() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1);
+        JournaledRocketRepository repository = new JournaledRocketRepository(journalFile);
+        repository.save(redDragonRocket);
+        // the journal cannot be written after it is closed, so syncing the next entry fails
+        repository.close();
+
+        assertThrows(UncheckedIOException.class, () -> repository.save(new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null)));
+        assertThrows(UncheckedIOException.class, () -> repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.IN_REPAIR, TestData.MARS));
+        assertEquals(Optional.empty(), repository.findByName(TestData.BLUE_DRAGON));
+        assertEquals(Optional.of(redDragonRocket), repository.findByName(TestData.RED_DRAGON));
+        assertEquals(0, repository.countByStatus(RocketStatus.IN_REPAIR));
+    }
+
+    @Test
+    void shouldCompactJournalToOneEntryPerRocket() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 10);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null);
+        Rocket dragonXlRocket = new Rocket(TestData.DRAGON_XL, RocketStatus.IN_REPAIR, null);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            repository.save(blueDragonRocket);
+            for (int version = 0; version <= 10; version++) {
+                repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, version));
+            }
+            repository.compact();
+            assertEquals(entrySize(redDragonRocket) + entrySize(blueDragonRocket), Files.size(journalFile));
+
+            repository.save(dragonXlRocket);
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(List.of(blueDragonRocket, dragonXlRocket, redDragonRocket), repository.findAll().stream()
+                    .sorted(Comparator.comparing(Rocket::name)).toList());
+        }
+    }
+
+    @Test
+    void shouldCompactJournalOnStartWhenItIsMostlyHistory() throws IOException {
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 5);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            for (int version = 0; version <= 5; version++) {
+                repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, version));
+            }
+        }
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(entrySize(redDragonRocket), Files.size(journalFile));
+            assertEquals(Optional.of(redDragonRocket), repository.findByName(TestData.RED_DRAGON));
+        }
+    }
+
+    @Test
+    void shouldStartFromSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve("fleet.snapshot");
+        Path journalFile = directory.resolve("rockets.journal");
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 1);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null, 3);
+        InMemoryRocketRepository rocketRepository = new InMemoryRocketRepository();
+        InMemoryMissionRepository missionRepository = new InMemoryMissionRepository();
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 1));
+        rocketRepository.saveAll(List.of(redDragonRocket, blueDragonRocket));
+        FleetSnapshot.write(snapshotFile, rocketRepository, missionRepository);
+
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile, FleetSnapshot.open(snapshotFile))) {
+            assertEquals(Optional.of(redDragonRocket), repository.findByName(TestData.RED_DRAGON));
+            repository.save(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, null, 4));
+        }
+
+        assertThrows(IOException.class, () -> new JournaledRocketRepository(journalFile, FleetSnapshot.open(snapshotFile)));
+        try (JournaledRocketRepository repository = new JournaledRocketRepository(journalFile)) {
+            assertEquals(List.of(redDragonRocket), repository.findByMission(TestData.MARS));
+            assertEquals(Optional.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, null, 4)), repository.findByName(TestData.BLUE_DRAGON));
+        }
+    }
+
+    // length prefix and checksum around the encoded record
+    private static long entrySize(Rocket rocket) {
+        return 2 * Integer.BYTES + RecordCodec.encode(rocket).length;
+    }
+}
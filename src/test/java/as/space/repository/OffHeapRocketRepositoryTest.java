@@ -0,0 +1,51 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapRocketRepositoryTest extends RocketRepositoryContractTest {
+
+    @Override
+    protected RocketRepository createRepository() {
+        return new OffHeapRocketRepository();
+    }
+
+    @Test
+    void shouldRejectRocketNameLongerThanSlot() {
+        Rocket rocket = new Rocket("Dragon ".repeat(20), RocketStatus.ON_GROUND, null);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(rocket));
+    }
+
+    @Test
+    void shouldFindRocketsWithMultiByteNames() {
+        List<String> names = List.of("Dragón", "Дракон", "龍", "Dragon 🚀", "Dragon ?");
+        for (String name : names) {
+            repository.save(new Rocket(name, RocketStatus.ON_GROUND, null));
+        }
+
+        for (String name : names) {
+            assertEquals(name, repository.findByName(name).orElseThrow().name());
+        }
+        assertFalse(repository.findByName("Dragó").isPresent());
+    }
+
+    @Test
+    void shouldRejectRocketNameWithUnpairedSurrogate() {
+        repository.save(new Rocket("Dragon ?", RocketStatus.ON_GROUND, null));
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(new Rocket("Dragon \uD83D", RocketStatus.ON_GROUND, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(List.of(
+                new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null),
+                new Rocket("\uDE80 Dragon", RocketStatus.ON_GROUND, null))));
+        assertFalse(repository.findByName("Dragon \uD83D").isPresent());
+        assertFalse(repository.findByName(TestData.RED_DRAGON).isPresent());
+        assertEquals(List.of("Dragon ?"), repository.findAll().stream().map(Rocket::name).toList());
+    }
+}
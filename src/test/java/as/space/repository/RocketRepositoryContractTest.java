@@ -0,0 +1,267 @@
+package as.space.repository;
+
+import as.space.TestData;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every rocket repository shares, each implementation runs it through a subclass
+public abstract class RocketRepositoryContractTest {
+
+    protected RocketRepository repository;
+
+    protected abstract RocketRepository createRepository();
+
+    @BeforeEach
+    void setUp() {
+        repository = createRepository();
+    }
+
+    @Test
+    void shouldSaveAndFindRocketByName() {
+        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
+
+        repository.save(rocket);
+        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
+
+        assertTrue(rocketFound.isPresent());
+        assertEquals(TestData.RED_DRAGON, rocketFound.get().name());
+        assertEquals(RocketStatus.ON_GROUND, rocketFound.get().status());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenRocketNotFound() {
+        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
+
+        assertFalse(rocketFound.isPresent());
+    }
+
+    @Test
+    void shouldOverwriteExistingRocket() {
+
+        Rocket first = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
+        Rocket second = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, null);
+
+        repository.save(first);
+        repository.save(second);
+
+        Optional<Rocket> rocketFound = repository.findByName(TestData.RED_DRAGON);
+
+        assertTrue(rocketFound.isPresent());
+        assertEquals(RocketStatus.IN_REPAIR, rocketFound.get().status());
+    }
+
+    @Test
+    void shouldReturnAllRocketsAssignedToMission() {
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
+        Rocket littleDragonRocket = new Rocket(TestData.LITTLE_DRAGON, RocketStatus.IN_SPACE, TestData.MOON);
+        Rocket falconHeavyRocket = new Rocket(TestData.FALCON_HEAVY, RocketStatus.ON_GROUND, null);
+        repository.save(redDragonRocket);
+        repository.save(blueDragonRocket);
+        repository.save(littleDragonRocket);
+        repository.save(falconHeavyRocket);
+
+        List<Rocket> rocketsMarsFound = repository.findByMission(TestData.MARS);
+        List<Rocket> rocketsMoonFound = repository.findByMission(TestData.MOON);
+        List<Rocket> rocketsNoMissionFound = repository.findByMission(null);
+        List<Rocket> rocketsVenusFound = repository.findByMission(TestData.VENUS);
+        assertEquals(2, rocketsMarsFound.size());
+        assertEquals(List.of(blueDragonRocket, redDragonRocket), rocketsMarsFound);
+        assertEquals(1, rocketsMoonFound.size());
+        assertEquals(List.of(littleDragonRocket), rocketsMoonFound);
+        assertEquals(1, rocketsNoMissionFound.size());
+        assertEquals(List.of(falconHeavyRocket), rocketsNoMissionFound);
+        assertTrue(rocketsVenusFound.isEmpty());
+        assertEquals(List.of(), rocketsVenusFound);
+
+    }
+
+    @Test
+    void shouldMoveRocketBetweenMissionsWhenSaved() {
+        Rocket assignedRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
+        Rocket reassignedRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MOON);
+        Rocket unassignedRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
+
+        repository.save(assignedRocket);
+        assertEquals(List.of(assignedRocket), repository.findByMission(TestData.MARS));
+
+        repository.save(reassignedRocket);
+        assertTrue(repository.findByMission(TestData.MARS).isEmpty());
+        assertEquals(List.of(reassignedRocket), repository.findByMission(TestData.MOON));
+
+        repository.save(unassignedRocket);
+        assertTrue(repository.findByMission(TestData.MOON).isEmpty());
+        assertEquals(List.of(unassignedRocket), repository.findByMission(null));
+    }
+
+    @Test
+    void shouldCompareAndSaveOnlyWhenVersionMatches() {
+        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 3);
+        Rocket staleUpdate = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, null, 3);
+        Rocket update = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 4);
+        repository.save(rocket);
+
+        assertFalse(repository.compareAndSave(2, staleUpdate));
+        assertEquals(Optional.of(rocket), repository.findByName(TestData.RED_DRAGON));
+
+        assertTrue(repository.compareAndSave(3, update));
+        assertEquals(Optional.of(update), repository.findByName(TestData.RED_DRAGON));
+        assertEquals(List.of(update), repository.findByMission(TestData.MARS));
+        assertTrue(repository.findByMission(null).isEmpty());
+    }
+
+    @Test
+    void shouldNotCompareAndSaveMissingRocket() {
+        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 1);
+
+        assertFalse(repository.compareAndSave(0, rocket));
+        assertFalse(repository.findByName(TestData.RED_DRAGON).isPresent());
+    }
+
+    @Test
+    void shouldSaveIfAbsentOnlyWhenNoRocketHasTheName() {
+        Rocket rocket = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null);
+        Rocket other = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, null);
+
+        assertTrue(repository.saveIfAbsent(rocket));
+        assertFalse(repository.saveIfAbsent(other));
+        assertEquals(Optional.of(rocket), repository.findByName(TestData.RED_DRAGON));
+        assertEquals(List.of(rocket), repository.findByMission(null));
+    }
+
+    @Test
+    void shouldSaveAllAndFindAllRocketsByName() {
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null);
+        Rocket falconHeavyRocket = new Rocket(TestData.FALCON_HEAVY, RocketStatus.IN_REPAIR, TestData.MARS);
+
+        repository.saveAll(List.of(redDragonRocket, blueDragonRocket, falconHeavyRocket));
+
+        List<Rocket> rocketsFound = repository.findAllByName(List.of(TestData.FALCON_HEAVY, TestData.LITTLE_DRAGON, TestData.RED_DRAGON));
+        assertEquals(List.of(falconHeavyRocket, redDragonRocket), rocketsFound);
+        assertEquals(List.of(falconHeavyRocket, redDragonRocket), repository.findByMission(TestData.MARS));
+        assertEquals(List.of(blueDragonRocket), repository.findByMission(null));
+    }
+
+    @Test
+    void shouldShareMissionNameBetweenRocketsOfMission() {
+        repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, new String(TestData.MARS)));
+        repository.save(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_SPACE, new String(TestData.MARS)));
+
+        List<Rocket> rockets = repository.findByMission(TestData.MARS);
+
+        assertEquals(2, rockets.size());
+        assertSame(rockets.get(0).mission(), rockets.get(1).mission());
+        assertTrue(repository.compareAndSave(0, new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, new String(TestData.MARS), 1)));
+        assertEquals(RocketStatus.IN_REPAIR, repository.findByName(TestData.RED_DRAGON).orElseThrow().status());
+    }
+
+    @Test
+    void shouldKeepMissionsConsistentWhenManyRocketsAreSaved() {
+        int rockets = 20_000;
+        for (int i = 0; i < rockets; i++) {
+            repository.save(new Rocket("Dragon " + i, RocketStatus.IN_SPACE, i % 2 == 0 ? TestData.MARS : TestData.MOON));
+        }
+        for (int i = 0; i < rockets; i += 4) {
+            repository.save(new Rocket("Dragon " + i, RocketStatus.ON_GROUND, null, 1));
+        }
+
+        assertEquals(rockets / 4, repository.findByMission(TestData.MARS).size());
+        assertEquals(rockets / 2, repository.findByMission(TestData.MOON).size());
+        assertEquals(rockets / 4, repository.findByMission(null).size());
+        assertEquals(Optional.of(new Rocket("Dragon 19998", RocketStatus.IN_SPACE, TestData.MARS)), repository.findByName("Dragon 19998"));
+    }
+
+    @Test
+    void shouldCompareAndSetStatusOnlyWhenStateMatches() {
+        repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 3));
+
+        assertFalse(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, RocketStatus.ON_GROUND, null));
+        assertFalse(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MOON, RocketStatus.ON_GROUND, null));
+        assertFalse(repository.compareAndSetStatus(TestData.BLUE_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.ON_GROUND, null));
+        assertTrue(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.IN_REPAIR, TestData.MARS));
+        assertEquals(RocketStatus.IN_REPAIR, repository.findStatus(TestData.RED_DRAGON));
+        assertEquals(TestData.MARS, repository.findMission(TestData.RED_DRAGON));
+
+        assertTrue(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, RocketStatus.ON_GROUND, null));
+        Rocket released = new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null, 5);
+        assertEquals(Optional.of(released), repository.findByName(TestData.RED_DRAGON));
+        assertTrue(repository.findByMission(TestData.MARS).isEmpty());
+        assertEquals(List.of(released), repository.findByMission(null));
+        assertNull(repository.findStatus(TestData.BLUE_DRAGON));
+        assertNull(repository.findMission(TestData.RED_DRAGON));
+    }
+
+    @Test
+    void shouldFindAndCountRocketsByStatus() {
+        repository.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS),
+                new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null),
+                new Rocket(TestData.DRAGON_XL, RocketStatus.IN_SPACE, TestData.MOON)));
+        assertTrue(repository.compareAndSetStatus(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, RocketStatus.IN_REPAIR, TestData.MARS));
+        repository.save(new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null, 1));
+
+        assertEquals(List.of(TestData.DRAGON_XL), repository.findByStatus(RocketStatus.IN_SPACE).stream().map(Rocket::name).toList());
+        assertEquals(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 1)), repository.findByStatus(RocketStatus.IN_REPAIR));
+        assertEquals(List.of(new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null, 1)), repository.findByStatus(RocketStatus.ON_GROUND));
+        assertEquals(1, repository.countByStatus(RocketStatus.IN_SPACE));
+        assertEquals(1, repository.countByStatus(RocketStatus.IN_REPAIR));
+        assertEquals(1, repository.countByStatus(RocketStatus.ON_GROUND));
+    }
+
+    @Test
+    void shouldKeepStatusIndexConsistentWhenManyRocketsAreSaved() {
+        for (int i = 0; i < 20000; i++) {
+            repository.save(new Rocket("Dragon " + i, i % 2 == 0 ? RocketStatus.IN_SPACE : RocketStatus.ON_GROUND, null));
+        }
+        for (int i = 0; i < 20000; i += 4) {
+            repository.save(new Rocket("Dragon " + i, RocketStatus.IN_REPAIR, null, 1));
+        }
+
+        assertEquals(5000, repository.countByStatus(RocketStatus.IN_SPACE));
+        assertEquals(5000, repository.countByStatus(RocketStatus.IN_REPAIR));
+        assertEquals(10000, repository.countByStatus(RocketStatus.ON_GROUND));
+        assertEquals(5000, repository.findByStatus(RocketStatus.IN_REPAIR).size());
+        assertTrue(repository.findByStatus(RocketStatus.IN_SPACE).stream().allMatch(rocket -> rocket.status() == RocketStatus.IN_SPACE));
+    }
+
+    @Test
+    void shouldFindRocketsChangedSinceVersion() {
+        repository.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS),
+                new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null),
+                new Rocket(TestData.DRAGON_XL, RocketStatus.IN_SPACE, TestData.MOON)));
+        long version = repository.changeVersion();
+
+        assertTrue(repository.compareAndSetStatus(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null, RocketStatus.IN_SPACE, TestData.MARS));
+        assertFalse(repository.compareAndSetStatus(TestData.DRAGON_XL, RocketStatus.ON_GROUND, null, RocketStatus.IN_SPACE, TestData.MARS));
+        repository.save(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 1));
+        repository.save(new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2));
+
+        assertEquals(3, version);
+        assertEquals(6, repository.changeVersion());
+        assertEquals(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 1),
+                new Rocket(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR, TestData.MARS, 2)), repository.findChangedSince(version));
+        assertEquals(List.of(TestData.BLUE_DRAGON), repository.findChangedSince(5).stream().map(Rocket::name).toList());
+        assertEquals(List.of(), repository.findChangedSince(6));
+        assertEquals(3, repository.findChangedSince(0).size());
+    }
+
+    @Test
+    void shouldFindAllRockets() {
+        Rocket redDragonRocket = new Rocket(TestData.RED_DRAGON, RocketStatus.IN_SPACE, TestData.MARS, 2);
+        Rocket blueDragonRocket = new Rocket(TestData.BLUE_DRAGON, RocketStatus.ON_GROUND, null);
+        repository.saveAll(List.of(new Rocket(TestData.RED_DRAGON, RocketStatus.ON_GROUND, null), blueDragonRocket));
+        repository.save(redDragonRocket);
+
+        // in no particular order
+        assertEquals(Set.of(redDragonRocket, blueDragonRocket), Set.copyOf(repository.findAll()));
+        assertEquals(2, repository.findAll().size());
+    }
+}
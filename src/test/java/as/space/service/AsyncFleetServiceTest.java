@@ -0,0 +1,64 @@
+package as.space.service;
+
+import as.space.TestData;
+import as.space.exception.MissionNotFoundException;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncFleetServiceTest {
+    private RocketService rocketService;
+    private MissionService missionService;
+    private ExecutorService executor;
+    private AsyncFleetService asyncFleetService;
+
+    @BeforeEach
+    void setUp() {
+        RocketRepository rocketRepository = new InMemoryRocketRepository();
+        MissionRepository missionRepository = new InMemoryMissionRepository();
+        rocketService = new RocketService(rocketRepository);
+        missionService = new MissionService(missionRepository);
+        executor = Executors.newFixedThreadPool(2);
+        asyncFleetService = new AsyncFleetService(new ManagementService(rocketRepository, missionRepository),
+                new ReportService(rocketRepository, missionRepository), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldReportChangesAppliedAsynchronously() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        String report = asyncFleetService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS)
+                .thenCompose(ignored -> asyncFleetService.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR))
+                .thenCompose(ignored -> asyncFleetService.generateReport())
+                .toCompletableFuture().join();
+
+        assertEquals("Mars - PENDING - 1 dragons\n  Red Dragon - IN_REPAIR\n", report);
+    }
+
+    @Test
+    void shouldFailStageWithOperationException() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+
+        CompletionException failure = assertThrows(CompletionException.class, () ->
+                asyncFleetService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS).toCompletableFuture().join());
+
+        assertInstanceOf(MissionNotFoundException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,38 @@
+package as.space.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChannelAppendableTest {
+
+    @Test
+    void shouldEncodeTextLongerThanBufferWithMultiByteCharacters() throws IOException {
+        String text = "Łódź - 🚀 Dragon - IN_SPACE\n".repeat(20);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ChannelAppendable appendable = new ChannelAppendable(Channels.newChannel(output), 7);
+
+        appendable.append(text, 0, 10).append(text.charAt(10)).append(text.substring(11));
+        appendable.flush();
+
+        assertEquals(text, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReplaceUnpairedSurrogatesLikeString() throws IOException {
+        String text = "Dragon \uD800 - \uDC00 - IN_SPACE\n\uD83D";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ChannelAppendable appendable = new ChannelAppendable(Channels.newChannel(output), 4);
+
+        appendable.append(text);
+        appendable.flush();
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+}
@@ -0,0 +1,219 @@
+package as.space.service;
+
+import as.space.TestData;
+import as.space.exception.MissionNotFoundException;
+import as.space.exception.RocketAlreadyAssignedException;
+import as.space.exception.RocketNotFoundException;
+import as.space.metrics.Operation;
+import as.space.metrics.ServiceMetrics;
+import as.space.model.AssignmentOutcome;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManagementCommandPipelineTest {
+    private RocketRepository rocketRepository;
+    private MissionRepository missionRepository;
+    private RocketService rocketService;
+    private MissionService missionService;
+    private ManagementCommandPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        rocketRepository = new InMemoryRocketRepository();
+        missionRepository = new InMemoryMissionRepository();
+        rocketService = new RocketService(rocketRepository);
+        missionService = new MissionService(missionRepository);
+        pipeline = new ManagementCommandPipeline(new ManagementService(rocketRepository, missionRepository), 16, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void shouldApplyCommandsInSubmissionOrder() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        pipeline.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR);
+        pipeline.finishMission(TestData.MARS).join();
+
+        Rocket rocket = rocketRepository.findByName(TestData.RED_DRAGON).orElseThrow();
+        Mission mission = missionRepository.findByName(TestData.MARS).orElseThrow();
+        assertEquals(RocketStatus.IN_REPAIR, rocket.status());
+        assertNull(rocket.mission());
+        assertEquals(MissionStatus.ENDED, mission.status());
+    }
+
+    @Test
+    void shouldCompleteWithAssignmentOutcomes() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        Map<String, AssignmentOutcome> outcomes = pipeline.assignRocketsToMission(List.of(TestData.RED_DRAGON, TestData.DRAGON_XL), TestData.MARS).join();
+
+        assertEquals(AssignmentOutcome.ASSIGNED, outcomes.get(TestData.RED_DRAGON));
+        assertEquals(AssignmentOutcome.ROCKET_NOT_FOUND, outcomes.get(TestData.DRAGON_XL));
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenCommandFails() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+
+        CompletableFuture<Void> assignment = pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        CompletableFuture<Void> statusChange = pipeline.changeRocketStatus(TestData.DRAGON_XL, RocketStatus.IN_REPAIR);
+
+        ExecutionException assignmentFailure = assertThrows(ExecutionException.class, assignment::get);
+        assertInstanceOf(MissionNotFoundException.class, assignmentFailure.getCause());
+        ExecutionException statusChangeFailure = assertThrows(ExecutionException.class, statusChange::get);
+        assertInstanceOf(RocketNotFoundException.class, statusChangeFailure.getCause());
+    }
+
+    @Test
+    void shouldApplyCommandsSubmittedFromManyThreads() throws InterruptedException {
+        missionService.createNewMission(TestData.MARS);
+        int threads = 4;
+        int rocketsPerThread = 100;
+        List<Thread> submitters = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<String> rockets = new ArrayList<>();
+            for (int i = 0; i < rocketsPerThread; i++) {
+                String rocket = "Dragon " + t + "-" + i;
+                rocketService.createNewRocket(rocket);
+                rockets.add(rocket);
+            }
+            Thread submitter = new Thread(() -> {
+                for (String rocket : rockets) {
+                    CompletableFuture<Void> future = pipeline.assignRocketToMission(rocket, TestData.MARS);
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Mission mission = missionRepository.findByName(TestData.MARS).orElseThrow();
+        assertEquals(threads * rocketsPerThread, mission.allRocketsCnt());
+        assertEquals(threads * rocketsPerThread, mission.inSpaceCnt());
+    }
+
+    @Test
+    void shouldApplySubmittedCommandsOnCloseAndRejectLaterOnes() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        CompletableFuture<Void> assignment = pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        pipeline.close();
+        CompletableFuture<Void> finish = pipeline.finishMission(TestData.MARS);
+
+        assertTrue(assignment.isDone());
+        assertFalse(assignment.isCompletedExceptionally());
+        ExecutionException failure = assertThrows(ExecutionException.class, finish::get);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(MissionStatus.IN_PROGRESS, missionRepository.findByName(TestData.MARS).orElseThrow().status());
+    }
+
+    @Test
+    void shouldApplyConsecutiveAssignmentsToMissionTogether() throws InterruptedException {
+        ServiceMetrics metrics = new ServiceMetrics();
+        GatedMissionRepository gatedRepository = new GatedMissionRepository();
+        rocketRepository = new InMemoryRocketRepository();
+        rocketService = new RocketService(rocketRepository);
+        missionService = new MissionService(gatedRepository);
+        pipeline.close();
+        pipeline = new ManagementCommandPipeline(new ManagementService(rocketRepository, gatedRepository, metrics), 16, 8);
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        rocketService.createNewRocket(TestData.BLUE_DRAGON);
+        rocketService.createNewRocket(TestData.DRAGON_XL);
+        missionService.createNewMission(TestData.MARS);
+        missionService.createNewMission(TestData.VENUS);
+
+        // holds the writer until the assignments behind it are queued, so they are drained as one batch
+        gatedRepository.gatedMission = TestData.VENUS;
+        CompletableFuture<Void> finish = pipeline.finishMission(TestData.VENUS);
+        gatedRepository.entered.await();
+        CompletableFuture<Void> red = pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        CompletableFuture<Void> blue = pipeline.assignRocketToMission(TestData.BLUE_DRAGON, TestData.MARS);
+        CompletableFuture<Void> missing = pipeline.assignRocketToMission(TestData.FALCON_HEAVY, TestData.MARS);
+        CompletableFuture<Void> redAgain = pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        CompletableFuture<Void> dragonXl = pipeline.assignRocketToMission(TestData.DRAGON_XL, TestData.MARS);
+        gatedRepository.gate.countDown();
+        CompletableFuture.allOf(finish, red, blue, dragonXl).join();
+
+        assertEquals(RocketNotFoundException.class, assertThrows(ExecutionException.class, missing::get).getCause().getClass());
+        assertEquals(RocketAlreadyAssignedException.class, assertThrows(ExecutionException.class, redAgain::get).getCause().getClass());
+        assertEquals(3, gatedRepository.findByName(TestData.MARS).orElseThrow().allRocketsCnt());
+        assertEquals(2, metrics.of(Operation.ASSIGN_ROCKETS).calls());
+        assertEquals(0, metrics.of(Operation.ASSIGN_ROCKET).calls());
+    }
+
+    @Test
+    void shouldCloseOnceWhenClosedConcurrently() throws InterruptedException {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+        CompletableFuture<Void> assignment = pipeline.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+
+        List<Thread> closers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread closer = new Thread(pipeline::close);
+            closer.start();
+            closers.add(closer);
+        }
+        for (Thread closer : closers) {
+            closer.join(10_000);
+            assertFalse(closer.isAlive());
+        }
+
+        assertTrue(assignment.isDone());
+        assertFalse(assignment.isCompletedExceptionally());
+    }
+
+    // once a mission is set, blocks its first read until the gate is opened
+    private static final class GatedMissionRepository extends InMemoryMissionRepository {
+        private volatile String gatedMission;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public Optional<Mission> findByName(String name) {
+            if (name.equals(gatedMission) && entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findByName(name);
+        }
+    }
+}
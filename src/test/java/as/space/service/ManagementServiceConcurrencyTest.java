@@ -0,0 +1,168 @@
+package as.space.service;
+
+import as.space.exception.CannotAssignToEndedMissionException;
+import as.space.exception.MissionAlreadyExistsException;
+import as.space.exception.OperationNotAllowedException;
+import as.space.exception.RocketAlreadyAssignedException;
+import as.space.exception.RocketAlreadyExistsException;
+import as.space.feed.ChangeFeed;
+import as.space.metrics.ServiceMetrics;
+import as.space.model.Mission;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManagementServiceConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final int ROCKETS = 200;
+    private static final int MISSIONS = 10;
+    private static final int ENDING_MISSIONS = 2;
+
+    private RocketRepository rocketRepository;
+    private MissionRepository missionRepository;
+    private ManagementService managementService;
+
+    @BeforeEach
+    void setUp() {
+        rocketRepository = new InMemoryRocketRepository();
+        missionRepository = new InMemoryMissionRepository();
+        FleetAggregates aggregates = new FleetAggregates();
+        RocketService rocketService = new RocketService(rocketRepository, aggregates);
+        MissionService missionService = new MissionService(missionRepository, aggregates);
+        managementService = new ManagementService(rocketRepository, missionRepository, new ServiceMetrics(), new ChangeFeed(), aggregates);
+
+        for (int i = 0; i < ROCKETS; i++) {
+            rocketService.createNewRocket(rocketName(i));
+        }
+        for (int i = 0; i < MISSIONS; i++) {
+            missionService.createNewMission(missionName(i));
+        }
+    }
+
+    @Test
+    void shouldKeepMissionCountersConsistentUnderConcurrentOperations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    runRandomOperation(random);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        int assignedRockets = 0;
+        for (Mission mission : missionRepository.getAllSorted()) {
+            List<Rocket> rockets = rocketRepository.findByMission(mission.name());
+            long inSpace = rockets.stream().filter(rocket -> rocket.status() == RocketStatus.IN_SPACE).count();
+            long inRepair = rockets.stream().filter(rocket -> rocket.status() == RocketStatus.IN_REPAIR).count();
+
+            assertEquals(rockets.size(), mission.allRocketsCnt(), mission.name());
+            assertEquals(inSpace, mission.inSpaceCnt(), mission.name());
+            assertEquals(inRepair, mission.inRepairCnt(), mission.name());
+            assertEquals(expectedStatus(mission), mission.status(), mission.name());
+            assignedRockets += rockets.size();
+        }
+        List<Rocket> unassigned = rocketRepository.findByMission(null);
+        assertEquals(ROCKETS, assignedRockets + unassigned.size());
+        assertTrue(unassigned.stream().noneMatch(rocket -> rocket.status() == RocketStatus.IN_SPACE));
+        assertEquals(FleetAggregates.of(rocketRepository, missionRepository).snapshot(), managementService.statistics());
+    }
+
+    @Test
+    void shouldCountOnlyOneOfConcurrentCreationsOfTheSameName() throws Exception {
+        FleetAggregates aggregates = FleetAggregates.of(rocketRepository, missionRepository);
+        RocketService rocketService = new RocketService(rocketRepository, aggregates);
+        MissionService missionService = new MissionService(missionRepository, aggregates);
+        ManagementService service = new ManagementService(rocketRepository, missionRepository, new ServiceMetrics(), new ChangeFeed(), aggregates);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    try {
+                        rocketService.createNewRocket("Falcon " + i);
+                    } catch (RocketAlreadyExistsException e) {
+                        // the rocket was created by another thread
+                    }
+                    try {
+                        missionService.createNewMission("Venus " + i);
+                    } catch (MissionAlreadyExistsException e) {
+                        // the mission was created by another thread
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(FleetAggregates.of(rocketRepository, missionRepository).snapshot(), service.statistics());
+    }
+
+    private void runRandomOperation(Random random) {
+        String rocketName = rocketName(random.nextInt(ROCKETS));
+        String missionName = missionName(random.nextInt(MISSIONS));
+        try {
+            int operation = random.nextInt(1000);
+            if (operation == 0) {
+                // only the first missions get finished, so the remaining ones keep accepting rockets
+                managementService.finishMission(missionName(random.nextInt(ENDING_MISSIONS)));
+            } else if (operation < 100) {
+                managementService.assignRocketsToMission(List.of(rocketName, rocketName(random.nextInt(ROCKETS))), missionName);
+            } else if (operation < 400) {
+                managementService.assignRocketToMission(rocketName, missionName);
+            } else {
+                managementService.changeRocketStatus(rocketName, RocketStatus.values()[random.nextInt(RocketStatus.values().length)]);
+            }
+        } catch (RocketAlreadyAssignedException | CannotAssignToEndedMissionException | OperationNotAllowedException e) {
+            // rejected commands are expected, only the resulting state is verified. Any other exception fails the test.
+        }
+    }
+
+    private static MissionStatus expectedStatus(Mission mission) {
+        if (mission.status() == MissionStatus.ENDED) {
+            return MissionStatus.ENDED;
+        }
+        if (mission.allRocketsCnt() == 0) {
+            return MissionStatus.SCHEDULED;
+        }
+        return mission.inRepairCnt() > 0 ? MissionStatus.PENDING : MissionStatus.IN_PROGRESS;
+    }
+
+    private static String rocketName(int i) {
+        return "Dragon " + i;
+    }
+
+    private static String missionName(int i) {
+        return "Mission " + i;
+    }
+}
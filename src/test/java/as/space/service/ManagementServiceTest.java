@@ -2,6 +2,14 @@ package as.space.service;
 
 import as.space.TestData;
 import as.space.exception.*;
+import as.space.feed.ChangeFeed;
+import as.space.feed.ChangeSubscription;
+import as.space.feed.FleetChange;
+import as.space.metrics.Operation;
+import as.space.metrics.OperationMetrics;
+import as.space.metrics.ServiceMetrics;
+import as.space.model.AssignmentOutcome;
+import as.space.model.FleetStatistics;
 import as.space.model.Mission;
 import as.space.model.MissionStatus;
 import as.space.model.Rocket;
@@ -13,7 +21,9 @@ import as.space.repository.RocketRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -1128,6 +1138,81 @@ public class ManagementServiceTest {
         assertEquals(3, missionFound.get().allRocketsCnt());
     }
 
+    @Test
+    void shouldReportOutcomeOfEachRocketWhenAssigningMultipleRockets() {
+        missionService.createNewMission(TestData.MOON);
+        missionService.createNewMission(TestData.MARS);
+        rocketService.createNewRocket(TestData.DRAGON_XL);
+        managementService.assignRocketToMission(TestData.DRAGON_XL, TestData.MARS);
+        rocketService.createNewRocket(TestData.FALCON_HEAVY);
+        rocketService.createNewRocket(TestData.LITTLE_DRAGON);
+        managementService.changeRocketStatus(TestData.LITTLE_DRAGON, RocketStatus.IN_REPAIR);
+
+        Map<String, AssignmentOutcome> outcomes = managementService.assignRocketsToMission(
+                List.of(TestData.RED_DRAGON, TestData.DRAGON_XL, TestData.FALCON_HEAVY, TestData.LITTLE_DRAGON, TestData.FALCON_HEAVY), TestData.MOON);
+
+        assertEquals(List.of(TestData.RED_DRAGON, TestData.DRAGON_XL, TestData.FALCON_HEAVY, TestData.LITTLE_DRAGON), List.copyOf(outcomes.keySet()));
+        assertEquals(AssignmentOutcome.ROCKET_NOT_FOUND, outcomes.get(TestData.RED_DRAGON));
+        assertEquals(AssignmentOutcome.ROCKET_ALREADY_ASSIGNED, outcomes.get(TestData.DRAGON_XL));
+        assertEquals(AssignmentOutcome.ASSIGNED, outcomes.get(TestData.FALCON_HEAVY));
+        assertEquals(AssignmentOutcome.ASSIGNED, outcomes.get(TestData.LITTLE_DRAGON));
+
+        Optional<Mission> missionFound = missionRepository.findByName(TestData.MOON);
+        assertTrue(missionFound.isPresent());
+        assertEquals(MissionStatus.PENDING, missionFound.get().status());
+        assertEquals(2, missionFound.get().allRocketsCnt());
+        assertEquals(1, missionFound.get().inSpaceCnt());
+        assertEquals(1, missionFound.get().inRepairCnt());
+    }
+
+    @Test
+    void shouldNotChangeMissionWhenNoRocketCanBeAssigned() {
+        Mission mission = missionService.createNewMission(TestData.MOON);
+
+        Map<String, AssignmentOutcome> outcomes = managementService.assignRocketsToMission(List.of(TestData.RED_DRAGON), TestData.MOON);
+
+        assertEquals(Map.of(TestData.RED_DRAGON, AssignmentOutcome.ROCKET_NOT_FOUND), outcomes);
+        assertEquals(Optional.of(mission), missionRepository.findByName(TestData.MOON));
+    }
+
+    @Test
+    void shouldCountRocketsInMissionBeforeTheyAreAssigned() {
+        List<String> violations = new ArrayList<>();
+        RocketRepository checkingRepository = new InMemoryRocketRepository() {
+            private boolean repairedConcurrently;
+
+            @Override
+            public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+                if (rocket.mission() != null) {
+                    Mission mission = missionRepository.findByName(rocket.mission()).orElseThrow();
+                    List<Rocket> visible = findByMission(rocket.mission());
+                    long inRepair = visible.stream().filter(r -> r.status() == RocketStatus.IN_REPAIR).count()
+                            + (rocket.status() == RocketStatus.IN_REPAIR ? 1 : 0);
+                    if (mission.allRocketsCnt() < visible.size() + 1 || mission.inRepairCnt() < inRepair) {
+                        violations.add(rocket.name());
+                    }
+                    if (rocket.name().equals(TestData.FALCON_HEAVY) && !repairedConcurrently) {
+                        // the rocket breaks after it was read by the batch
+                        repairedConcurrently = true;
+                        save(new Rocket(TestData.FALCON_HEAVY, RocketStatus.IN_REPAIR, null, expectedVersion + 1));
+                        return false;
+                    }
+                }
+                return super.compareAndSave(expectedVersion, rocket);
+            }
+        };
+        RocketService checkedRocketService = new RocketService(checkingRepository);
+        ManagementService checkedManagementService = new ManagementService(checkingRepository, missionRepository);
+        missionService.createNewMission(TestData.MOON);
+        checkedRocketService.createNewRocket(TestData.DRAGON_XL);
+        checkedRocketService.createNewRocket(TestData.FALCON_HEAVY);
+
+        checkedManagementService.assignRocketsToMission(List.of(TestData.DRAGON_XL, TestData.FALCON_HEAVY), TestData.MOON);
+
+        assertEquals(List.of(), violations);
+        assertEquals(Optional.of(new Mission(TestData.MOON, MissionStatus.PENDING, 2, 1, 1, 2)), missionRepository.findByName(TestData.MOON));
+    }
+
     @Test
     void shouldThrowExceptionWhenAssigningRocketsToNonExistentMission() {
         rocketService.createNewRocket(TestData.RED_DRAGON);
@@ -1237,4 +1322,124 @@ public class ManagementServiceTest {
         assertThrows(MissionNotFoundException.class, () ->
                 managementService.finishMission(TestData.MOON));
     }
+
+    @Test
+    void shouldRecordCallsAndErrorsByType() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        managementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        assertThrows(RocketAlreadyAssignedException.class, () -> managementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS));
+        assertThrows(MissionNotFoundException.class, () -> managementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MOON));
+        managementService.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR);
+
+        OperationMetrics assignMetrics = managementService.metrics().of(Operation.ASSIGN_ROCKET);
+        assertEquals(3, assignMetrics.calls());
+        assertEquals(3, assignMetrics.latency().count());
+        assertEquals(2, assignMetrics.errors());
+        assertEquals(Map.of(RocketAlreadyAssignedException.class, 1L, MissionNotFoundException.class, 1L), assignMetrics.errorsByType());
+        assertEquals(1, managementService.metrics().of(Operation.CHANGE_ROCKET_STATUS).calls());
+        assertEquals(0, managementService.metrics().of(Operation.CHANGE_ROCKET_STATUS).errors());
+        assertEquals(0, managementService.metrics().of(Operation.FINISH_MISSION).calls());
+    }
+
+    @Test
+    void shouldPublishAppliedChanges() {
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+        ChangeSubscription subscription = managementService.changeFeed().subscribe();
+
+        managementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        managementService.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR);
+        managementService.finishMission(TestData.MARS);
+
+        List<FleetChange> changes = new ArrayList<>();
+        subscription.poll(changes::add);
+        assertEquals(List.of(
+                new FleetChange.MissionStatusChanged(0, TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS),
+                new FleetChange.RocketAssigned(1, TestData.RED_DRAGON, TestData.MARS, RocketStatus.ON_GROUND, RocketStatus.IN_SPACE),
+                new FleetChange.RocketStatusChanged(2, TestData.RED_DRAGON, TestData.MARS, RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR),
+                new FleetChange.MissionStatusChanged(3, TestData.MARS, MissionStatus.IN_PROGRESS, MissionStatus.PENDING),
+                new FleetChange.RocketStatusChanged(4, TestData.RED_DRAGON, TestData.MARS, RocketStatus.IN_REPAIR, RocketStatus.IN_REPAIR),
+                new FleetChange.MissionFinished(5, TestData.MARS, MissionStatus.PENDING, 1)), changes);
+    }
+
+    @Test
+    void shouldNotPublishMissionTransitionOfAssignmentThatDidNotHappen() {
+        RocketRepository repairingRepository = new InMemoryRocketRepository() {
+            private boolean repairedConcurrently;
+
+            @Override
+            public boolean compareAndSave(long expectedVersion, Rocket rocket) {
+                if (rocket.mission() != null && !repairedConcurrently) {
+                    // the rocket breaks after it was read for the assignment
+                    repairedConcurrently = true;
+                    save(new Rocket(rocket.name(), RocketStatus.IN_REPAIR, null, expectedVersion + 1));
+                    return false;
+                }
+                return super.compareAndSave(expectedVersion, rocket);
+            }
+        };
+        ManagementService repairingManagementService = new ManagementService(repairingRepository, missionRepository);
+        new RocketService(repairingRepository).createNewRocket(TestData.RED_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+        ChangeSubscription subscription = repairingManagementService.changeFeed().subscribe();
+
+        repairingManagementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+
+        List<FleetChange> changes = new ArrayList<>();
+        subscription.poll(changes::add);
+        assertEquals(List.of(
+                new FleetChange.MissionStatusChanged(0, TestData.MARS, MissionStatus.SCHEDULED, MissionStatus.PENDING),
+                new FleetChange.RocketAssigned(1, TestData.RED_DRAGON, TestData.MARS, RocketStatus.IN_REPAIR, RocketStatus.IN_REPAIR)), changes);
+    }
+
+    @Test
+    void shouldMaintainFleetStatistics() {
+        FleetAggregates aggregates = new FleetAggregates();
+        RocketService rocketService = new RocketService(rocketRepository, aggregates);
+        MissionService missionService = new MissionService(missionRepository, aggregates);
+        ManagementService managementService = new ManagementService(rocketRepository, missionRepository, new ServiceMetrics(),
+                new ChangeFeed(), aggregates);
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        rocketService.createNewRocket(TestData.BLUE_DRAGON);
+        rocketService.createNewRocket(TestData.DRAGON_XL);
+        missionService.createNewMission(TestData.MARS);
+        missionService.createNewMission(TestData.MOON);
+
+        managementService.assignRocketsToMission(List.of(TestData.RED_DRAGON, TestData.BLUE_DRAGON), TestData.MARS);
+        managementService.changeRocketStatus(TestData.BLUE_DRAGON, RocketStatus.IN_REPAIR);
+        managementService.assignRocketToMission(TestData.DRAGON_XL, TestData.MOON);
+        managementService.finishMission(TestData.MOON);
+
+        FleetStatistics statistics = managementService.statistics();
+        assertEquals(1, statistics.rockets(RocketStatus.ON_GROUND));
+        assertEquals(1, statistics.rockets(RocketStatus.IN_SPACE));
+        assertEquals(1, statistics.rockets(RocketStatus.IN_REPAIR));
+        assertEquals(1, statistics.missions(MissionStatus.PENDING));
+        assertEquals(1, statistics.missions(MissionStatus.ENDED));
+        assertEquals(0, statistics.missions(MissionStatus.SCHEDULED));
+        assertEquals(2, statistics.rocketsInActiveMissions());
+        assertEquals(FleetAggregates.of(rocketRepository, missionRepository).snapshot(), statistics);
+    }
+
+    @Test
+    void shouldCountFleetStatisticsWithDefaultConstructors() {
+        // rockets stored before the services are created and rockets created through them afterwards
+        rocketRepository.save(new Rocket(TestData.DRAGON_XL, RocketStatus.IN_REPAIR, null));
+        ManagementService defaultManagementService = new ManagementService(rocketRepository, missionRepository);
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        rocketService.createNewRocket(TestData.BLUE_DRAGON);
+        missionService.createNewMission(TestData.MARS);
+
+        defaultManagementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+        defaultManagementService.assignRocketToMission(TestData.DRAGON_XL, TestData.MARS);
+
+        FleetStatistics statistics = defaultManagementService.statistics();
+        assertEquals(1, statistics.rockets(RocketStatus.ON_GROUND));
+        assertEquals(1, statistics.rockets(RocketStatus.IN_SPACE));
+        assertEquals(1, statistics.rockets(RocketStatus.IN_REPAIR));
+        assertEquals(1, statistics.missions(MissionStatus.PENDING));
+        assertEquals(2, statistics.rocketsInActiveMissions());
+    }
 }
@@ -0,0 +1,86 @@
+package as.space.service;
+
+import as.space.TestData;
+import as.space.model.Mission;
+import as.space.model.Rocket;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportFragmentsTest {
+    private RocketRepository rocketRepository;
+    private MissionRepository missionRepository;
+    private ManagementService managementService;
+    private ReportFragments fragments;
+
+    @BeforeEach
+    void setUp() {
+        rocketRepository = new InMemoryRocketRepository();
+        missionRepository = new InMemoryMissionRepository();
+        RocketService rocketService = new RocketService(rocketRepository);
+        MissionService missionService = new MissionService(missionRepository);
+        managementService = new ManagementService(rocketRepository, missionRepository);
+        fragments = new ReportFragments(rocketRepository, missionRepository);
+
+        missionService.createNewMission(TestData.MARS);
+        missionService.createNewMission(TestData.MOON);
+        rocketService.createNewRocket(TestData.DRAGON_1);
+        rocketService.createNewRocket(TestData.DRAGON_2);
+        rocketService.createNewRocket(TestData.DRAGON_3);
+        managementService.assignRocketsToMission(List.of(TestData.DRAGON_1, TestData.DRAGON_2), TestData.MARS);
+        managementService.assignRocketToMission(TestData.DRAGON_3, TestData.MOON);
+    }
+
+    @Test
+    void shouldReuseFragmentsOfUnchangedMissions() {
+        fragments.refresh();
+        String mars = fragments.fragment(mission(TestData.MARS));
+        String moon = fragments.fragment(mission(TestData.MOON));
+
+        managementService.changeRocketStatus(TestData.DRAGON_3, RocketStatus.IN_REPAIR);
+        fragments.refresh();
+
+        assertSame(mars, fragments.fragment(mission(TestData.MARS)));
+        assertEquals("Moon - IN_PROGRESS - 1 dragons\n  Dragon 3 - IN_SPACE\n", moon);
+        assertEquals("Moon - PENDING - 1 dragons\n  Dragon 3 - IN_REPAIR\n", fragments.fragment(mission(TestData.MOON)));
+    }
+
+    @Test
+    void shouldRenderMissionAgainWhenOneOfItsRocketsIsSaved() {
+        fragments.refresh();
+        String mars = fragments.fragment(mission(TestData.MARS));
+
+        rocketRepository.save(new Rocket(TestData.DRAGON_2, RocketStatus.IN_REPAIR, TestData.MARS, 2));
+        fragments.refresh();
+
+        assertEquals("Mars - IN_PROGRESS - 2 dragons\n  Dragon 1 - IN_SPACE\n  Dragon 2 - IN_SPACE\n", mars);
+        assertEquals("Mars - IN_PROGRESS - 2 dragons\n  Dragon 1 - IN_SPACE\n  Dragon 2 - IN_REPAIR\n", fragments.fragment(mission(TestData.MARS)));
+    }
+
+    @Test
+    void shouldRenderBothMissionsWhenRocketMovesBetweenThem() {
+        fragments.refresh();
+        fragments.fragment(mission(TestData.MARS));
+        fragments.fragment(mission(TestData.MOON));
+
+        managementService.changeRocketStatus(TestData.DRAGON_3, RocketStatus.ON_GROUND);
+        managementService.assignRocketToMission(TestData.DRAGON_3, TestData.MARS);
+        fragments.refresh();
+
+        assertEquals("Moon - SCHEDULED - 0 dragons\n", fragments.fragment(mission(TestData.MOON)));
+        assertEquals("Mars - IN_PROGRESS - 3 dragons\n  Dragon 1 - IN_SPACE\n  Dragon 2 - IN_SPACE\n  Dragon 3 - IN_SPACE\n",
+                fragments.fragment(mission(TestData.MARS)));
+    }
+
+    private Mission mission(String name) {
+        return missionRepository.findByName(name).orElseThrow();
+    }
+}
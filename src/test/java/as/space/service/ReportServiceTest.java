@@ -1,17 +1,36 @@
 package as.space.service;
 
 import as.space.TestData;
+import as.space.metrics.Operation;
+import as.space.model.FleetDelta;
+import as.space.model.FleetVersion;
+import as.space.model.Mission;
+import as.space.model.MissionCursor;
+import as.space.model.MissionStatus;
+import as.space.model.Rocket;
 import as.space.model.RocketStatus;
+import as.space.report.CsvReportEncoder;
+import as.space.report.TextReportEncoder;
 import as.space.repository.InMemoryMissionRepository;
 import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.JournaledFleet;
 import as.space.repository.MissionRepository;
 import as.space.repository.RocketRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ReportServiceTest {
     private RocketService rocketService;
@@ -84,4 +103,179 @@ public class ReportServiceTest {
 
         assertEquals(expectedReport, report);
     }
+
+    @Test
+    void shouldStreamTheSameReportToAppendableAndChannel() throws IOException {
+        missionService.createNewMission(TestData.MARS);
+        missionService.createNewMission(TestData.MOON);
+        rocketService.createNewRocket(TestData.RED_DRAGON);
+        rocketService.createNewRocket(TestData.BLUE_DRAGON);
+        rocketService.createNewRocket(TestData.DRAGON_XL);
+        managementService.assignRocketsToMission(List.of(TestData.RED_DRAGON, TestData.BLUE_DRAGON), TestData.MOON);
+        managementService.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR);
+        managementService.assignRocketToMission(TestData.DRAGON_XL, TestData.MARS);
+
+        String expectedReport =
+                "Moon - PENDING - 2 dragons\n" +
+                "  Blue Dragon - IN_SPACE\n" +
+                "  Red Dragon - IN_REPAIR\n" +
+                "Mars - IN_PROGRESS - 1 dragons\n" +
+                "  Dragon XL - IN_SPACE\n";
+
+        StringWriter writer = new StringWriter();
+        reportService.generateReport(writer);
+        ByteArrayOutputStream channelOutput = new ByteArrayOutputStream();
+        reportService.generateReport(Channels.newChannel(channelOutput));
+        ByteArrayOutputStream streamOutput = new ByteArrayOutputStream();
+        reportService.generateReport(streamOutput);
+
+        assertEquals(expectedReport, reportService.generateReport());
+        assertEquals(expectedReport, writer.toString());
+        assertEquals(expectedReport, channelOutput.toString(StandardCharsets.UTF_8));
+        assertEquals(expectedReport, streamOutput.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldRecordEachReportOnce() throws IOException {
+        missionService.createNewMission(TestData.MARS);
+
+        reportService.generateReport();
+        reportService.generateReport(new ByteArrayOutputStream());
+
+        assertEquals(2, reportService.metrics().of(Operation.GENERATE_REPORT).calls());
+    }
+
+    @Test
+    void shouldReportTopMissions() {
+        createMissionsWithRockets();
+
+        assertEquals("Mars - IN_PROGRESS - 2 dragons\n  Dragon 1 - IN_SPACE\n  Dragon 2 - IN_SPACE\n", reportService.generateReport(0, 1));
+        assertEquals("Moon - IN_PROGRESS - 1 dragons\n  Dragon 3 - IN_SPACE\n" +
+                "Venus - SCHEDULED - 0 dragons\n", reportService.generateReport(1, 5));
+        assertEquals("", reportService.generateReport(3, 5));
+    }
+
+    @Test
+    void shouldReportPagesUntilLastMission() throws IOException {
+        createMissionsWithRockets();
+
+        StringBuilder firstPage = new StringBuilder();
+        MissionCursor cursor = reportService.generateReportPage(firstPage, null, 2);
+        StringBuilder secondPage = new StringBuilder();
+        MissionCursor lastCursor = reportService.generateReportPage(secondPage, cursor, 2);
+
+        assertEquals(new MissionCursor(1, TestData.MOON), cursor);
+        assertEquals(reportService.generateReport(0, 2), firstPage.toString());
+        assertEquals("Venus - SCHEDULED - 0 dragons\n", secondPage.toString());
+        assertNull(lastCursor);
+        assertEquals(reportService.generateReport(), firstPage.toString() + secondPage);
+    }
+
+    private void createMissionsWithRockets() {
+        missionService.createNewMission(TestData.MARS);
+        missionService.createNewMission(TestData.MOON);
+        missionService.createNewMission(TestData.VENUS);
+        rocketService.createNewRocket(TestData.DRAGON_1);
+        rocketService.createNewRocket(TestData.DRAGON_2);
+        rocketService.createNewRocket(TestData.DRAGON_3);
+        managementService.assignRocketsToMission(List.of(TestData.DRAGON_1, TestData.DRAGON_2), TestData.MARS);
+        managementService.assignRocketToMission(TestData.DRAGON_3, TestData.MOON);
+    }
+
+    @Test
+    void shouldEncodeTextReportLikeGenerateReport() throws IOException {
+        createMissionsWithRockets();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        reportService.generateReport(new TextReportEncoder(), output);
+
+        assertEquals(reportService.generateReport(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldEncodeReportInMissionOrder() throws IOException {
+        createMissionsWithRockets();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        reportService.generateReport(new CsvReportEncoder(), output);
+
+        assertEquals("mission,mission_status,dragons,rocket,rocket_status\r\n" +
+                "Mars,IN_PROGRESS,2,Dragon 1,IN_SPACE\r\n" +
+                "Mars,IN_PROGRESS,2,Dragon 2,IN_SPACE\r\n" +
+                "Moon,IN_PROGRESS,1,Dragon 3,IN_SPACE\r\n" +
+                "Venus,SCHEDULED,0,,\r\n", output.toString(StandardCharsets.UTF_8));
+        assertEquals(1, reportService.metrics().of(Operation.GENERATE_REPORT).calls());
+    }
+
+    @Test
+    void shouldReportOnlyChangesSinceVersion() {
+        createMissionsWithRockets();
+        FleetDelta fullDelta = reportService.generateReportSince(FleetVersion.INITIAL);
+
+        managementService.changeRocketStatus(TestData.DRAGON_2, RocketStatus.IN_REPAIR);
+        FleetDelta delta = reportService.generateReportSince(fullDelta.version());
+
+        assertEquals(List.of(TestData.MARS, TestData.MOON, TestData.VENUS), fullDelta.missions().stream().map(Mission::name).toList());
+        assertEquals(List.of(TestData.DRAGON_1, TestData.DRAGON_2, TestData.DRAGON_3), fullDelta.rockets().stream().map(Rocket::name).toList());
+        assertEquals(List.of(TestData.MARS), delta.missions().stream().map(Mission::name).toList());
+        assertEquals(MissionStatus.PENDING, delta.missions().get(0).status());
+        assertEquals(List.of(new Rocket(TestData.DRAGON_2, RocketStatus.IN_REPAIR, TestData.MARS, 2)), delta.rockets());
+        assertEquals(reportService.fleetVersion(), delta.version());
+        assertEquals(new FleetDelta(delta.version(), List.of(), List.of()), reportService.generateReportSince(delta.version()));
+    }
+
+    @Test
+    void shouldReportWholeFleetSinceVersionOfReopenedRepositories(@TempDir Path directory) throws IOException {
+        Path rocketJournal = directory.resolve("rockets.journal");
+        Path missionJournal = directory.resolve("missions.journal");
+        FleetVersion version;
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            new MissionService(fleet.missions()).createNewMission(TestData.MARS);
+            RocketService rockets = new RocketService(fleet.rockets());
+            rockets.createNewRocket(TestData.DRAGON_1);
+            rockets.createNewRocket(TestData.DRAGON_2);
+            rockets.createNewRocket(TestData.DRAGON_3);
+            version = new ReportService(fleet.rockets(), fleet.missions()).fleetVersion();
+        }
+
+        try (JournaledFleet fleet = JournaledFleet.open(rocketJournal, missionJournal)) {
+            // the restarted versions of the reopened repositories are behind the version of the earlier ones
+            new RocketService(fleet.rockets()).createNewRocket(TestData.RED_DRAGON);
+            FleetDelta delta = new ReportService(fleet.rockets(), fleet.missions()).generateReportSince(version);
+
+            assertEquals(List.of(TestData.MARS), delta.missions().stream().map(Mission::name).toList());
+            assertEquals(List.of(TestData.DRAGON_1, TestData.DRAGON_2, TestData.DRAGON_3, TestData.RED_DRAGON),
+                    delta.rockets().stream().map(Rocket::name).toList());
+            assertNotEquals(version.epoch(), delta.version().epoch());
+        }
+    }
+
+    @Test
+    void shouldReportChangesMadeAfterPreviousReport() {
+        createMissionsWithRockets();
+        reportService.generateReport();
+
+        managementService.changeRocketStatus(TestData.DRAGON_1, RocketStatus.IN_REPAIR);
+
+        assertEquals("Mars - PENDING - 2 dragons\n  Dragon 1 - IN_REPAIR\n  Dragon 2 - IN_SPACE\n" +
+                "Moon - IN_PROGRESS - 1 dragons\n  Dragon 3 - IN_SPACE\n" +
+                "Venus - SCHEDULED - 0 dragons\n", reportService.generateReport());
+    }
+
+    @Test
+    void shouldNotKeepRocketsReleasedFromEndedMission() {
+        RocketRepository rocketRepository = new InMemoryRocketRepository();
+        MissionRepository missionRepository = new InMemoryMissionRepository();
+        ReportService reportService = new ReportService(rocketRepository, missionRepository);
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.IN_PROGRESS, 1, 1, 0, 1));
+        rocketRepository.save(new Rocket(TestData.DRAGON_1, RocketStatus.IN_SPACE, TestData.MARS, 1));
+        reportService.generateReport();
+
+        // finishMission ends the mission before it releases its rockets, a report runs in between
+        missionRepository.save(new Mission(TestData.MARS, MissionStatus.ENDED, 0, 0, 0, 2));
+        assertEquals("Mars - ENDED - 0 dragons\n  Dragon 1 - IN_SPACE\n", reportService.generateReport());
+        rocketRepository.save(new Rocket(TestData.DRAGON_1, RocketStatus.ON_GROUND, null, 2));
+
+        assertEquals("Mars - ENDED - 0 dragons\n", reportService.generateReport());
+    }
 }
@@ -0,0 +1,84 @@
+package as.space.service;
+
+import as.space.TestData;
+import as.space.model.RocketStatus;
+import as.space.repository.InMemoryMissionRepository;
+import as.space.repository.InMemoryRocketRepository;
+import as.space.repository.MissionRepository;
+import as.space.repository.RocketRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldEmitEnabledEventsWithStatusTransition() throws IOException {
+        RocketRepository rocketRepository = new InMemoryRocketRepository();
+        MissionRepository missionRepository = new InMemoryMissionRepository();
+        RocketService rocketService = new RocketService(rocketRepository);
+        MissionService missionService = new MissionService(missionRepository);
+        ManagementService managementService = new ManagementService(rocketRepository, missionRepository);
+        ReportService reportService = new ReportService(rocketRepository, missionRepository);
+        Path recordingFile = directory.resolve("fleet.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("as.space.RocketCreated");
+            recording.enable("as.space.MissionCreated");
+            recording.enable("as.space.RocketAssigned");
+            recording.enable("as.space.RocketStatusChanged");
+            recording.enable("as.space.MissionFinished");
+            recording.enable("as.space.ReportGenerated");
+            recording.start();
+            rocketService.createNewRocket(TestData.RED_DRAGON);
+            missionService.createNewMission(TestData.MARS);
+            managementService.assignRocketToMission(TestData.RED_DRAGON, TestData.MARS);
+            managementService.changeRocketStatus(TestData.RED_DRAGON, RocketStatus.IN_REPAIR);
+            managementService.finishMission(TestData.MARS);
+            reportService.generateReport();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().startsWith("as.space."))
+                .toList();
+        assertEquals(List.of("as.space.RocketCreated", "as.space.MissionCreated", "as.space.RocketAssigned",
+                        "as.space.RocketStatusChanged", "as.space.MissionFinished", "as.space.ReportGenerated"),
+                events.stream().map(event -> event.getEventType().getName()).toList());
+        RecordedEvent statusChanged = events.get(3);
+        assertEquals(TestData.RED_DRAGON, statusChanged.getString("rocket"));
+        assertEquals(TestData.MARS, statusChanged.getString("mission"));
+        assertEquals(RocketStatus.IN_SPACE.name(), statusChanged.getString("fromStatus"));
+        assertEquals(RocketStatus.IN_REPAIR.name(), statusChanged.getString("toStatus"));
+        assertEquals(1, events.get(4).getInt("releasedRockets"));
+        assertFalse(events.get(3).getDuration().isNegative());
+    }
+
+    @Test
+    void shouldNotEmitEventsUnlessEnabled() throws IOException {
+        RocketService rocketService = new RocketService(new InMemoryRocketRepository());
+        Path recordingFile = directory.resolve("fleet.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            rocketService.createNewRocket(TestData.RED_DRAGON);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        assertTrue(RecordingFile.readAllEvents(recordingFile).stream()
+                .noneMatch(event -> event.getEventType().getName().startsWith("as.space.")));
+    }
+}